@@ -0,0 +1,77 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+
+    private static final String[] GREETING_SECTIONS = {
+            "day-greeting", "weather-greeting", "season-greeting", "zodiac_year_greeting", "holiday_greeting"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    static YamlConfiguration yaml() {
+        try (InputStream in = Objects.requireNonNull(JRPIndicators.class.getResourceAsStream("/config.yml"));
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            YamlConfiguration yaml = YamlConfiguration.loadConfiguration(reader);
+            for (String section : GREETING_SECTIONS) {
+                yaml.set(section + ".enabled", true);
+            }
+            return yaml;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static CalendarConfig config() {
+        return CalendarConfig.load(yaml());
+    }
+
+    static World world(String name, boolean storm, boolean thundering) {
+        UUID uid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName", "toString" -> name;
+                    case "getUID" -> uid;
+                    case "hasStorm" -> storm;
+                    case "isThundering" -> thundering;
+                    case "getEnvironment" -> World.Environment.NORMAL;
+                    case "getPlayers" -> Collections.emptyList();
+                    case "hashCode" -> uid.hashCode();
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static Player player(World world, int entityId, float yaw) {
+        Location location = new Location(world, 0.5, 64, 0.5, yaw, 0f);
+        UUID uid = new UUID(0L, entityId);
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName", "toString" -> "player" + entityId;
+                    case "getEntityId" -> entityId;
+                    case "getUniqueId" -> uid;
+                    case "getWorld" -> world;
+                    case "getLocation" -> location;
+                    case "isOnline" -> true;
+                    case "hashCode" -> entityId;
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
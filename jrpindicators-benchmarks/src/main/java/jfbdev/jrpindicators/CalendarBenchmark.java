@@ -0,0 +1,96 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarBenchmark {
+
+    private CalendarConfig config;
+    private World world;
+    private Player player;
+    private Location location;
+    private WorldCalendar calendar;
+    private PlayerState tracked;
+    private final TemperatureCache temperatures = new TemperatureCache();
+    private final TransitionDetector detector = new TransitionDetector();
+    private WorldCalendarState state;
+    private long fullTime;
+    private float yaw;
+
+    @Setup
+    public void setup() {
+        config = BenchmarkFixtures.config();
+        world = BenchmarkFixtures.world("world", false, false);
+        player = BenchmarkFixtures.player(world, 1, 0f);
+        location = player.getLocation();
+        calendar = new WorldCalendar(world);
+        tracked = new PlayerState(player);
+        tracked.world = world;
+        tracked.blockX = location.getBlockX();
+        tracked.blockY = location.getBlockY();
+        tracked.blockZ = location.getBlockZ();
+        tracked.section = TemperatureCache.sectionKey(tracked.blockX >> 4, tracked.blockZ >> 4, tracked.blockY >> 4);
+        tracked.temperature = 0.8f;
+        fullTime = 123L * 24000L;
+        state = WorldCalendarState.compute(config, config, fullTime, null);
+    }
+
+    @Benchmark
+    public String formattedTime() {
+        fullTime += 20;
+        state = WorldCalendarState.compute(config, config, fullTime, state);
+        return state.time;
+    }
+
+    @Benchmark
+    public String formattedTimeUncached() {
+        fullTime += 20;
+        return WorldCalendarState.compute(config, config, fullTime, null).time;
+    }
+
+    @Benchmark
+    public String nextSeason() {
+        fullTime += 24000;
+        state = WorldCalendarState.compute(config, config, fullTime, state);
+        return state.nextSeasonName(LocaleNames.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public int holidayLookup() {
+        fullTime += 24000;
+        return config.yearTable.holiday(config.yearTable.dayOfCycle(fullTime / 24000L));
+    }
+
+    @Benchmark
+    public int nextHoliday() {
+        fullTime += 24000;
+        return config.yearTable.daysUntilHoliday(config.yearTable.dayOfCycle(fullTime / 24000L));
+    }
+
+    @Benchmark
+    public PlayerSnapshot direction() {
+        yaw = (yaw + 0.5f) % 360f;
+        location.setYaw(yaw - 180f);
+        if (!PlayerTracker.move(tracked, location, temperatures, false)) return tracked.snapshot;
+        return PlayerTracker.publish(tracked, config);
+    }
+
+    @Benchmark
+    public List<String> checkCycle() {
+        fullTime += 1000;
+        state = WorldCalendarState.compute(config, config, fullTime, state);
+        int weather = CalendarConfig.weather(world, TemperatureCache.UNKNOWN);
+        return detector.detect(calendar, state, weather);
+    }
+}
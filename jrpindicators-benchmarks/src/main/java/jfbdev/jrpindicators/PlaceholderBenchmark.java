@@ -0,0 +1,47 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceholderBenchmark {
+
+    @Param({"day", "day_type", "time", "weather", "month", "month_name", "weekday", "weekday_name", "season",
+            "direction", "direction_short", "year", "zodiac", "holiday_name",
+            "next_holiday", "days_to_holiday", "next_season", "days_to_season", "date_{dd}.{MM}.{yyyy}",
+            "line_scoreboard"})
+    public String key;
+
+    private Map<String, LineTemplate> templates = Map.of();
+    private final PlaceholderTable table = new PlaceholderTable(() -> templates);
+    private PlayerSnapshot player;
+    private WorldCalendarState state;
+
+    @Setup
+    public void setup() {
+        CalendarConfig config = BenchmarkFixtures.config();
+        templates = table.compileTemplates(new TemplateSettings(BenchmarkFixtures.yaml()).patterns);
+        World world = BenchmarkFixtures.world("world", true, false);
+        player = PlayerSnapshot.of(config, world.getUID(), CalendarConfig.WEATHER_RAIN, 3, LocaleNames.DEFAULT_LOCALE);
+        state = WorldCalendarState.compute(config, config, 123L * 24000L + 7000L, null);
+    }
+
+    @Benchmark
+    public String resolve() {
+        return table.find(key).resolve(player, state);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String resolveConcurrent() {
+        return table.find(key).resolve(player, state);
+    }
+}
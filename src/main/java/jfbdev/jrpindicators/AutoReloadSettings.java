@@ -0,0 +1,14 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+final class AutoReloadSettings {
+
+    final boolean enabled;
+    final long delay;
+
+    AutoReloadSettings(ConfigurationSection config) {
+        enabled = config.getBoolean("auto-reload.enabled", false);
+        delay = Math.max(0L, config.getLong("auto-reload.delay", 1000L));
+    }
+}
@@ -0,0 +1,118 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+final class BungeeCordTransport implements SyncTransport, PluginMessageListener, Listener {
+
+    private static final String BUNGEE_CHANNEL = "BungeeCord";
+    private static final int MAX_PENDING = 16;
+    private static final long JOIN_DELAY = 20L;
+
+    private final JRPIndicators plugin;
+    private final String channel;
+    private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+    private volatile Consumer<byte[]> receiver;
+
+    BungeeCordTransport(JRPIndicators plugin, String channel) {
+        this.plugin = plugin;
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        Bukkit.getMessenger().registerOutgoingPluginChannel(plugin, BUNGEE_CHANNEL);
+        Bukkit.getMessenger().registerIncomingPluginChannel(plugin, BUNGEE_CHANNEL, this);
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    @Override
+    public void send(byte[] message) {
+        byte[] packet;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(message.length + channel.length() + 16);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF("Forward");
+            out.writeUTF("ALL");
+            out.writeUTF(channel);
+            out.writeShort(message.length);
+            out.write(message);
+            packet = bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        synchronized (pending) {
+            Player carrier = carrier();
+            if (carrier == null) {
+                if (pending.size() >= MAX_PENDING) pending.poll();
+                pending.add(packet);
+                return;
+            }
+            carrier.sendPluginMessage(plugin, BUNGEE_CHANNEL, packet);
+        }
+    }
+
+    @Override
+    public void stop() {
+        receiver = null;
+        Bukkit.getMessenger().unregisterIncomingPluginChannel(plugin, BUNGEE_CHANNEL, this);
+        Bukkit.getMessenger().unregisterOutgoingPluginChannel(plugin, BUNGEE_CHANNEL);
+        HandlerList.unregisterAll(this);
+        synchronized (pending) {
+            pending.clear();
+        }
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        Consumer<byte[]> receiver = this.receiver;
+        if (receiver == null || !channel.equals(BUNGEE_CHANNEL)) return;
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
+            if (!in.readUTF().equals(this.channel)) return;
+            byte[] data = new byte[in.readUnsignedShort()];
+            in.readFully(data);
+            receiver.accept(data);
+        } catch (IOException e) {
+            plugin.getLogger().fine("Пропущено повреждённое сообщение синхронизации: " + e.getMessage());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        plugin.getTaskScheduler().runGlobalLater(this::flush, JOIN_DELAY);
+    }
+
+    private void flush() {
+        synchronized (pending) {
+            Player carrier = carrier();
+            if (carrier == null) return;
+            for (Iterator<byte[]> it = pending.iterator(); it.hasNext(); ) {
+                carrier.sendPluginMessage(plugin, BUNGEE_CHANNEL, it.next());
+                it.remove();
+            }
+        }
+    }
+
+    private static Player carrier() {
+        Iterator<? extends Player> players = Bukkit.getOnlinePlayers().iterator();
+        return players.hasNext() ? players.next() : null;
+    }
+}
@@ -0,0 +1,421 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+final class CalendarConfig {
+
+    static final String[] DAY_PHASES = {"morning", "day", "evening", "night"};
+    static final String[] WEATHER_KEYS = {"sun", "rain", "snow", "storm"};
+
+    static final int PHASE_MORNING = 0;
+    static final int PHASE_DAY = 1;
+    static final int PHASE_EVENING = 2;
+    static final int PHASE_NIGHT = 3;
+
+    static final int WEATHER_SUN = 0;
+    static final int WEATHER_RAIN = 1;
+    static final int WEATHER_SNOW = 2;
+    static final int WEATHER_STORM = 3;
+
+    static final int UNKNOWN_SEASON = -1;
+    static final int NO_HOLIDAY = -1;
+
+    private static final String[] NO_GREETINGS = new String[0];
+
+    final int daysPerMonth;
+    final int startYear;
+    final CalendarFormat timeFormat;
+
+    final String[] rawMonthNames = new String[13];
+    final String[] monthNames = new String[13];
+    final String[] rawWeekdayNames = new String[8];
+    final String[] weekdayNames = new String[8];
+    final String[] rawDirections = new String[8];
+    final String[] directions = new String[8];
+    final String[] rawShortDirections = new String[8];
+    final String[] shortDirections = new String[8];
+    final String[] dayPhaseNames = new String[DAY_PHASES.length];
+    final String[] weatherNames = new String[WEATHER_KEYS.length];
+    final String[] zodiacKeys = new String[12];
+    final String[] zodiacNames = new String[12];
+
+    final String[] seasonKeys;
+    final String[] rawSeasonNames;
+    final String[] seasonNames;
+    final String rawUnknownSeasonName = "&7Неизвестно";
+    final String unknownSeasonName;
+
+    final String[] holidayNames;
+    final String[] festivalNames;
+    final YearTable.Festival[] festivals;
+    final YearTable yearTable;
+    final List<String> warnings = new ArrayList<>();
+    final LocaleNames locales;
+
+    final boolean dayGreetingEnabled;
+    final boolean weatherGreetingEnabled;
+    final boolean seasonGreetingEnabled;
+    final boolean zodiacGreetingEnabled;
+    final boolean holidayGreetingEnabled;
+    final String[][] dayGreetings = new String[DAY_PHASES.length][];
+    final String[][] weatherGreetings = new String[WEATHER_KEYS.length][];
+    final String[][] seasonGreetings;
+    final String[][] zodiacGreetings = new String[12][];
+    private final String[][] holidayGreetings;
+    final String greetingSeparator;
+    final int greetingBatchSize;
+
+    private final int[] monthLimits = new int[13];
+    private final int dateStride;
+    private final Set<String> enabledWorlds;
+    private final Map<String, CalendarConfig> worldCalendars;
+
+    private CalendarConfig(ConfigurationSection config, Map<String, ? extends ConfigurationSection> languages,
+                           int daysPerMonth, int startYear, Set<String> enabledWorlds,
+                           Map<String, CalendarConfig> worldCalendars, List<YearTable> yearTables) {
+        this.daysPerMonth = Math.max(1, daysPerMonth);
+        this.startYear = startYear;
+        this.enabledWorlds = enabledWorlds;
+        this.worldCalendars = worldCalendars;
+        timeFormat = CalendarFormat.compile(config.getString("time-format", "HH:mm"));
+
+        for (int month = 1; month <= 12; month++) {
+            rawMonthNames[month] = config.getString("calendar.months." + month, String.valueOf(month));
+            monthNames[month] = JRPIndicators.colorize(rawMonthNames[month]);
+        }
+        for (int weekday = 1; weekday <= 7; weekday++) {
+            rawWeekdayNames[weekday] = config.getString("calendar.weekdays." + weekday, String.valueOf(weekday));
+            weekdayNames[weekday] = JRPIndicators.colorize(rawWeekdayNames[weekday]);
+        }
+        for (int index = 0; index < 8; index++) {
+            rawDirections[index] = config.getString("directions.direction_" + index, "Неизвестно");
+            directions[index] = JRPIndicators.colorize(rawDirections[index]);
+            rawShortDirections[index] = config.getString("directions.short_" + index, "?");
+            shortDirections[index] = JRPIndicators.colorize(rawShortDirections[index]);
+        }
+        for (int phase = 0; phase < DAY_PHASES.length; phase++) {
+            dayPhaseNames[phase] = JRPIndicators.colorize(config.getString("day-type." + DAY_PHASES[phase], ""));
+        }
+
+        weatherNames[WEATHER_SUN] = JRPIndicators.colorize(config.getString("weather.sun", "Ясно"));
+        weatherNames[WEATHER_RAIN] = JRPIndicators.colorize(config.getString("weather.rain", "Дождь"));
+        weatherNames[WEATHER_SNOW] = JRPIndicators.colorize(config.getString("weather.snow", "Снег"));
+        weatherNames[WEATHER_STORM] = JRPIndicators.colorize(config.getString("weather.storm", "Гроза"));
+
+        for (int slot = 0; slot < 12; slot++) {
+            zodiacKeys[slot] = config.getString("calendar.zodiac_animals.cycle." + (slot + 1), "?");
+            zodiacNames[slot] = JRPIndicators.colorize(zodiacKeys[slot]);
+        }
+
+        Map<String, List<Integer>> seasonMonths = new LinkedHashMap<>();
+        Map<String, String> names = new LinkedHashMap<>();
+
+        seasonMonths.put("spring", List.of(3, 4, 5));
+        seasonMonths.put("summer", List.of(6, 7, 8));
+        seasonMonths.put("autumn", List.of(9, 10, 11));
+        seasonMonths.put("winter", List.of(12, 1, 2));
+
+        names.put("spring", config.getString("seasons.spring.name", "&aВесна"));
+        names.put("summer", config.getString("seasons.summer.name", "&eЛето"));
+        names.put("autumn", config.getString("seasons.autumn.name", "&6Осень"));
+        names.put("winter", config.getString("seasons.winter.name", "&bЗима"));
+
+        if (config.isConfigurationSection("seasons")) {
+            for (String key : Objects.requireNonNull(config.getConfigurationSection("seasons")).getKeys(false)) {
+                String path = "seasons." + key + ".";
+                List<Integer> months = config.getIntegerList(path + "months");
+                String name = config.getString(path + "name", key);
+                if (!months.isEmpty()) {
+                    seasonMonths.put(key.toLowerCase(), months);
+                    names.put(key.toLowerCase(), name);
+                }
+            }
+        }
+
+        seasonKeys = seasonMonths.keySet().toArray(new String[0]);
+        rawSeasonNames = new String[seasonKeys.length];
+        seasonNames = new String[seasonKeys.length];
+        for (int season = 0; season < seasonKeys.length; season++) {
+            rawSeasonNames[season] = names.get(seasonKeys[season]);
+            seasonNames[season] = JRPIndicators.colorize(rawSeasonNames[season]);
+        }
+        unknownSeasonName = JRPIndicators.colorize(rawUnknownSeasonName);
+
+        int[] seasonByMonth = new int[13];
+        Arrays.fill(seasonByMonth, UNKNOWN_SEASON);
+        for (int month = 1; month <= 12; month++) {
+            for (int season = 0; season < seasonKeys.length; season++) {
+                if (seasonMonths.get(seasonKeys[season]).contains(month)) {
+                    seasonByMonth[month] = season;
+                    break;
+                }
+            }
+        }
+
+        int[] monthLengths = new int[13];
+        for (int month = 1; month <= 12; month++) {
+            monthLengths[month] = Math.min(YearTable.MAX_MONTH_LENGTH,
+                    Math.max(1, config.getInt("calendar.month_lengths." + month, this.daysPerMonth)));
+        }
+
+        List<String> festivalKeys = new ArrayList<>();
+        List<String> festivalTitles = new ArrayList<>();
+        List<YearTable.Festival> festivalList = new ArrayList<>();
+        ConfigurationSection intercalary = config.getConfigurationSection("calendar.intercalary");
+        if (intercalary != null) {
+            for (String key : intercalary.getKeys(false)) {
+                festivalKeys.add(key);
+                festivalTitles.add(JRPIndicators.colorize(intercalary.getString(key + ".name", key)));
+                festivalList.add(new YearTable.Festival(
+                        Math.min(12, Math.max(0, intercalary.getInt(key + ".after", 0))),
+                        intercalary.getBoolean(key + ".leap-only", false),
+                        intercalary.getBoolean(key + ".weekday", true)));
+            }
+        }
+        festivalNames = festivalTitles.toArray(new String[0]);
+        festivals = festivalList.toArray(new YearTable.Festival[0]);
+
+        int leapEvery = Math.min(YearTable.MAX_CYCLE_YEARS, Math.max(0, config.getInt("calendar.leap.every", 0)));
+        int leapExcept = leapEvery == 0 ? 0
+                : Math.min(YearTable.MAX_CYCLE_YEARS, Math.max(0, config.getInt("calendar.leap.except-every", 0)));
+        int leapUnless = leapExcept == 0 ? 0
+                : Math.min(YearTable.MAX_CYCLE_YEARS, Math.max(0, config.getInt("calendar.leap.unless-every", 0)));
+        int leapMonth = Math.min(12, Math.max(1, config.getInt("calendar.leap.month", 2)));
+        int leapDays = leapEvery == 0 ? 0 : Math.min(YearTable.MAX_MONTH_LENGTH - monthLengths[leapMonth],
+                Math.max(0, config.getInt("calendar.leap.days", 1)));
+        int longestYear = festivals.length + leapDays;
+        for (int month = 1; month <= 12; month++) {
+            longestYear += monthLengths[month];
+        }
+        int maxCycleYears = Math.max(1, Math.min(YearTable.MAX_CYCLE_YEARS, YearTable.MAX_CYCLE_DAYS / longestYear));
+        if (leapUnless > 0 && lcm(leapEvery, lcm(leapExcept, leapUnless)) > maxCycleYears) {
+            warnings.add(cycleWarning("unless-every", leapUnless, maxCycleYears));
+            leapUnless = 0;
+        }
+        if (leapExcept > 0 && lcm(leapEvery, leapExcept) > maxCycleYears) {
+            warnings.add(cycleWarning("except-every", leapExcept, maxCycleYears));
+            leapExcept = 0;
+        }
+        if (leapEvery > maxCycleYears) {
+            warnings.add(cycleWarning("every", leapEvery, maxCycleYears));
+            leapEvery = 0;
+            leapDays = 0;
+        }
+        boolean[] leapYears = new boolean[Math.max(1, lcm(leapEvery, lcm(leapExcept, leapUnless)))];
+        for (int year = 0; year < leapYears.length; year++) {
+            leapYears[year] = isLeap(startYear + year, leapEvery, leapExcept, leapUnless);
+        }
+        for (int month = 1; month <= 12; month++) {
+            monthLimits[month] = monthLengths[month] + (month == leapMonth ? leapDays : 0);
+        }
+        dateStride = YearTable.dateStride(monthLengths, leapMonth, leapDays);
+        int slots = 12 * dateStride + festivals.length;
+
+        List<String> holidays = new ArrayList<>();
+        int[] holidayBySlot = new int[slots];
+        Arrays.fill(holidayBySlot, NO_HOLIDAY);
+        for (int festival = 0; festival < festivals.length; festival++) {
+            holidayBySlot[12 * dateStride + festival] = holidays.size();
+            holidays.add(festivalNames[festival]);
+        }
+        if (config.isConfigurationSection("holidays.dates")) {
+            for (String key : Objects.requireNonNull(config.getConfigurationSection("holidays.dates")).getKeys(false)) {
+                String name = config.getString("holidays.dates." + key, "");
+                int date = dateIndex(key);
+                if (!name.isEmpty() && date >= 0) {
+                    holidayBySlot[date] = holidays.size();
+                    holidays.add(JRPIndicators.colorize(name));
+                }
+            }
+        }
+        holidayNames = holidays.toArray(new String[0]);
+
+        dayGreetingEnabled = config.getBoolean("day-greeting.enabled", false);
+        weatherGreetingEnabled = config.getBoolean("weather-greeting.enabled", false);
+        seasonGreetingEnabled = config.getBoolean("season-greeting.enabled", false);
+        zodiacGreetingEnabled = config.getBoolean("zodiac_year_greeting.enabled", false);
+        holidayGreetingEnabled = config.getBoolean("holiday_greeting.enabled", false);
+        greetingSeparator = JRPIndicators.colorize(config.getString("greetings.separator", "\n"));
+        greetingBatchSize = config.getInt("greetings.batch-size", 100);
+
+        for (int phase = 0; phase < DAY_PHASES.length; phase++) {
+            dayGreetings[phase] = greetings(config, "day-greeting." + DAY_PHASES[phase]);
+        }
+        for (int weather = 0; weather < WEATHER_KEYS.length; weather++) {
+            weatherGreetings[weather] = greetings(config, "weather-greeting." + WEATHER_KEYS[weather]);
+        }
+        seasonGreetings = new String[seasonKeys.length][];
+        for (int season = 0; season < seasonKeys.length; season++) {
+            seasonGreetings[season] = greetings(config, "season-greeting." + seasonKeys[season]);
+        }
+        ConfigurationSection zodiac = config.getConfigurationSection("zodiac_year_greeting");
+        for (int slot = 0; slot < 12; slot++) {
+            zodiacGreetings[slot] = NO_GREETINGS;
+            if (zodiac == null) continue;
+            String plainName = ChatColor.stripColor(zodiacNames[slot]);
+            for (String animal : zodiac.getKeys(false)) {
+                if (animal.equals(zodiacKeys[slot]) || animal.equals(plainName)) {
+                    zodiacGreetings[slot] = greetings(config, "zodiac_year_greeting." + animal);
+                    break;
+                }
+            }
+        }
+        holidayGreetings = new String[slots][];
+        Arrays.fill(holidayGreetings, NO_GREETINGS);
+        boolean[] greetingBySlot = new boolean[slots];
+        ConfigurationSection holidayDates = config.getConfigurationSection("holiday_greeting");
+        if (holidayDates != null) {
+            for (String key : holidayDates.getKeys(false)) {
+                int festival = festivalKeys.indexOf(key);
+                int date = festival >= 0 ? 12 * dateStride + festival : dateIndex(key);
+                if (date >= 0) {
+                    holidayGreetings[date] = greetings(config, "holiday_greeting." + key);
+                    greetingBySlot[date] = holidayGreetings[date].length > 0;
+                }
+            }
+        }
+
+        yearTable = yearTable(yearTables, monthLengths, leapMonth, leapDays, leapYears, seasonByMonth, holidayBySlot, greetingBySlot);
+
+        locales = new LocaleNames(this, languages);
+    }
+
+    private YearTable yearTable(List<YearTable> yearTables, int[] monthLengths, int leapMonth, int leapDays,
+                                boolean[] leapYears, int[] seasonByMonth, int[] holidayBySlot, boolean[] greetingBySlot) {
+        for (YearTable table : yearTables) {
+            if (table.hasLayout(monthLengths, leapYears)) return table;
+        }
+        YearTable table = new YearTable(monthLengths, leapMonth, leapDays, leapYears, festivals, seasonByMonth,
+                holidayBySlot, greetingBySlot);
+        yearTables.add(table);
+        return table;
+    }
+
+    private static String cycleWarning(String rule, int every, int maxCycleYears) {
+        return "calendar.leap." + rule + ": " + every + " — високосный цикл длиннее " + maxCycleYears
+                + " лет, правило не применяется";
+    }
+
+    static <E extends Enum<E>> E option(Class<E> type, String name, E fallback) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    private static String[] greetings(ConfigurationSection config, String path) {
+        List<String> messages = config.getStringList(path);
+        if (messages.isEmpty()) return NO_GREETINGS;
+        String[] rendered = new String[messages.size()];
+        for (int i = 0; i < rendered.length; i++) {
+            rendered[i] = JRPIndicators.colorize(messages.get(i));
+        }
+        return rendered;
+    }
+
+    static CalendarConfig load(ConfigurationSection config) {
+        return load(config, Map.of(), null, null);
+    }
+
+    static CalendarConfig load(ConfigurationSection config, Map<String, ? extends ConfigurationSection> languages,
+                               @Nullable String syncedWorld, @Nullable SyncMessage epoch) {
+        int daysPerMonth = config.getInt("calendar.months_days_count", 28);
+        int startYear = config.getInt("calendar.start_year", 1200);
+
+        List<YearTable> yearTables = new ArrayList<>();
+        Map<String, CalendarConfig> worldCalendars = new HashMap<>();
+        ConfigurationSection overrides = config.getConfigurationSection("worlds.overrides");
+        if (overrides != null) {
+            for (String name : overrides.getKeys(false)) {
+                worldCalendars.put(name, new CalendarConfig(config, languages,
+                        overrides.getInt(name + ".months_days_count", daysPerMonth),
+                        overrides.getInt(name + ".start_year", startYear),
+                        Set.of(), Map.of(), yearTables));
+            }
+        }
+        if (syncedWorld != null && epoch != null) {
+            worldCalendars.put(syncedWorld, new CalendarConfig(config, languages, epoch.daysPerMonth, epoch.startYear,
+                    Set.of(), Map.of(), yearTables));
+        }
+
+        Set<String> enabledWorlds = Set.copyOf(config.getStringList("worlds.enabled"));
+        return new CalendarConfig(config, languages, daysPerMonth, startYear, enabledWorlds, worldCalendars, yearTables);
+    }
+
+    CalendarConfig forWorld(World world) {
+        return worldCalendars.isEmpty() ? this : worldCalendars.getOrDefault(world.getName(), this);
+    }
+
+    boolean isCalendarWorld(World world) {
+        if (enabledWorlds.isEmpty()) return world.getEnvironment() == World.Environment.NORMAL;
+        return enabledWorlds.contains(world.getName());
+    }
+
+    String[] holidayGreetings(WorldCalendarState state) {
+        if (!yearTable.hasGreeting(state.dayOfCycle)) return NO_GREETINGS;
+        return holidayGreetings[state.festival != YearTable.NONE
+                ? 12 * dateStride + state.festival
+                : (state.month - 1) * dateStride + (state.day - 1)];
+    }
+
+    private int dateIndex(String key) {
+        int dash = key.indexOf('-');
+        if (dash < 0) return -1;
+        try {
+            int month = Integer.parseInt(key.substring(0, dash).trim());
+            int day = Integer.parseInt(key.substring(dash + 1).trim());
+            if (month < 1 || month > 12 || day < 1 || day > monthLimits[month]) return -1;
+            return (month - 1) * dateStride + (day - 1);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isLeap(int year, int every, int except, int unless) {
+        if (every == 0 || Math.floorMod(year, every) != 0) return false;
+        if (except == 0 || Math.floorMod(year, except) != 0) return true;
+        return unless != 0 && Math.floorMod(year, unless) == 0;
+    }
+
+    private static int lcm(int a, int b) {
+        if (a == 0 || b == 0) return Math.max(a, b);
+        int x = a, y = b;
+        while (y != 0) {
+            int r = x % y;
+            x = y;
+            y = r;
+        }
+        return a / x * b;
+    }
+
+    int zodiacSlot(int year) {
+        return ((year - startYear) % 12 + 12) % 12;
+    }
+
+    static int dayPhase(long timeOfDay) {
+        long adjusted = (timeOfDay + 6000) % 24000;
+        int hour = (int) (adjusted / 1000);
+
+        if (hour >= 4 && hour < 12) return PHASE_MORNING;
+        if (hour >= 12 && hour < 18) return PHASE_DAY;
+        if (hour >= 18 && hour < 22) return PHASE_EVENING;
+        return PHASE_NIGHT;
+    }
+
+    static int weather(World world, float temperature) {
+        if (!world.hasStorm()) return WEATHER_SUN;
+        if (world.isThundering()) return WEATHER_STORM;
+        return temperature < 0.15f ? WEATHER_SNOW : WEATHER_RAIN;
+    }
+
+    static int directionIndex(float yaw) {
+        if (yaw < 0) yaw += 360;
+        return Math.floorMod(Math.round(yaw / 45f), 8);
+    }
+}
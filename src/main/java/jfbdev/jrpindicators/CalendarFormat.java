@@ -0,0 +1,198 @@
+package jfbdev.jrpindicators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class CalendarFormat {
+
+    private static final int CACHE_SIZE = 64;
+
+    private static final byte LITERAL = 0;
+    private static final byte HOUR = 1;
+    private static final byte HOUR_2 = 2;
+    private static final byte MINUTE = 3;
+    private static final byte MINUTE_2 = 4;
+    private static final byte DAY = 5;
+    private static final byte DAY_2 = 6;
+    private static final byte MONTH = 7;
+    private static final byte MONTH_2 = 8;
+    private static final byte YEAR = 9;
+    private static final byte YEAR_2 = 10;
+    private static final byte YEAR_4 = 11;
+
+    private static final Map<String, Byte> FIELDS = Map.ofEntries(
+            Map.entry("H", HOUR), Map.entry("HH", HOUR_2),
+            Map.entry("m", MINUTE), Map.entry("mm", MINUTE_2),
+            Map.entry("d", DAY), Map.entry("dd", DAY_2),
+            Map.entry("M", MONTH), Map.entry("MM", MONTH_2),
+            Map.entry("y", YEAR), Map.entry("yy", YEAR_2), Map.entry("yyyy", YEAR_4)
+    );
+
+    private static final char[] TWO_DIGITS = new char[200];
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    private static final Map<String, CalendarFormat> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CalendarFormat> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            TWO_DIGITS[i * 2] = (char) ('0' + i / 10);
+            TWO_DIGITS[i * 2 + 1] = (char) ('0' + i % 10);
+        }
+    }
+
+    final boolean usesClock;
+    final boolean usesDate;
+    private final byte[] tokens;
+    private final String[] literals;
+
+    private CalendarFormat(List<Byte> tokens, List<String> literals) {
+        this.tokens = new byte[tokens.size()];
+        boolean clock = false;
+        boolean date = false;
+        for (int i = 0; i < this.tokens.length; i++) {
+            this.tokens[i] = tokens.get(i);
+            clock |= this.tokens[i] >= HOUR && this.tokens[i] <= MINUTE_2;
+            date |= this.tokens[i] >= DAY;
+        }
+        this.usesClock = clock;
+        this.usesDate = date;
+        this.literals = literals.toArray(new String[0]);
+    }
+
+    static CalendarFormat compile(String pattern) {
+        synchronized (CACHE) {
+            CalendarFormat format = CACHE.get(pattern);
+            if (format != null) {
+                Stats.FORMAT_CACHE.hit();
+            } else {
+                Stats.FORMAT_CACHE.miss();
+                format = pattern.indexOf('{') >= 0 ? parseBraced(pattern) : parseLegacy(pattern);
+                CACHE.put(pattern, format);
+            }
+            return format;
+        }
+    }
+
+    private static CalendarFormat parseBraced(String pattern) {
+        List<Byte> tokens = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int close = c == '{' ? pattern.indexOf('}', i + 1) : -1;
+            Byte field = close > 0 ? FIELDS.get(pattern.substring(i + 1, close)) : null;
+            if (field != null) {
+                flushLiteral(literal, tokens, literals);
+                tokens.add(field);
+                literals.add(null);
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        flushLiteral(literal, tokens, literals);
+        return new CalendarFormat(tokens, literals);
+    }
+
+    private static CalendarFormat parseLegacy(String pattern) {
+        List<Byte> tokens = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == 'H' || c == 'm') {
+                boolean twoDigits = pattern.startsWith(c == 'H' ? "HH" : "mm", i);
+                flushLiteral(literal, tokens, literals);
+                if (c == 'H') {
+                    tokens.add(twoDigits ? HOUR_2 : HOUR);
+                } else {
+                    tokens.add(twoDigits ? MINUTE_2 : MINUTE);
+                }
+                literals.add(null);
+                i += twoDigits ? 2 : 1;
+            } else if (c == '\'') {
+                i = quoted(pattern, i + 1, literal);
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        flushLiteral(literal, tokens, literals);
+        return new CalendarFormat(tokens, literals);
+    }
+
+    private static int quoted(String pattern, int i, StringBuilder literal) {
+        if (i < pattern.length() && pattern.charAt(i) == '\'') {
+            literal.append('\'');
+            return i + 1;
+        }
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            if (c != '\'') {
+                literal.append(c);
+            } else if (i < pattern.length() && pattern.charAt(i) == '\'') {
+                literal.append('\'');
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static void flushLiteral(StringBuilder literal, List<Byte> tokens, List<String> literals) {
+        if (literal.length() == 0) return;
+        tokens.add(LITERAL);
+        literals.add(literal.toString());
+        literal.setLength(0);
+    }
+
+    String render(int hours, int minutes, int day, int month, int year) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        appendTo(out, hours, minutes, day, month, year);
+        return out.toString();
+    }
+
+    void appendTo(StringBuilder out, int hours, int minutes, int day, int month, int year) {
+        for (int i = 0; i < tokens.length; i++) {
+            switch (tokens[i]) {
+                case LITERAL -> out.append(literals[i]);
+                case HOUR -> out.append(hours);
+                case HOUR_2 -> appendTwoDigits(out, hours);
+                case MINUTE -> out.append(minutes);
+                case MINUTE_2 -> appendTwoDigits(out, minutes);
+                case DAY -> out.append(day);
+                case DAY_2 -> appendTwoDigits(out, day);
+                case MONTH -> out.append(month);
+                case MONTH_2 -> appendTwoDigits(out, month);
+                case YEAR -> out.append(year);
+                case YEAR_2 -> appendTwoDigits(out, Math.floorMod(year, 100));
+                case YEAR_4 -> {
+                    if (year >= 0 && year < 1000) {
+                        out.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+                    }
+                    out.append(year);
+                }
+            }
+        }
+    }
+
+    private static void appendTwoDigits(StringBuilder out, int value) {
+        if (value >= 0 && value < 100) {
+            out.append(TWO_DIGITS, value * 2, 2);
+        } else {
+            out.append(value);
+        }
+    }
+}
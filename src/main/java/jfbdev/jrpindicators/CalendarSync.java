@@ -0,0 +1,208 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.world.TimeSkipEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+final class CalendarSync implements Listener {
+
+    enum Role { NONE, AUTHORITY, FOLLOWER }
+
+    private static final long JOIN_DELAY = 20L;
+
+    private final JRPIndicators plugin;
+    private SyncTransport transport;
+    private String transportKey;
+    private TaskScheduler.Task heartbeat;
+    private boolean listening;
+    private volatile Role role = Role.NONE;
+    private volatile String worldName = "";
+    private volatile World world;
+    private volatile SyncMessage epoch;
+    private SyncMessage rejected;
+    private ConfigurationSection rejectedFor;
+
+    CalendarSync(JRPIndicators plugin) {
+        this.plugin = plugin;
+    }
+
+    void update(SyncSettings settings) {
+        cancelHeartbeat();
+        role = settings.role;
+        if (!settings.world.equals(worldName)) {
+            worldName = settings.world;
+            epoch = null;
+        }
+        world = resolveWorld();
+        if (role != Role.FOLLOWER) epoch = null;
+        SyncMessage epoch = this.epoch;
+        if (epoch != null && world != null && !epoch.sameCalendar(plugin.getCalendar(world))) reject(epoch);
+        if (role == Role.NONE) {
+            stopTransport();
+            return;
+        }
+
+        String key = settings.transport + ':' + settings.channel;
+        if (transport == null || !key.equals(transportKey)) {
+            stopTransport();
+            transport = "loopback".equals(settings.transport)
+                    ? new LoopbackTransport()
+                    : new BungeeCordTransport(plugin, settings.channel);
+            transportKey = key;
+            transport.start(this::receive);
+        }
+        if (!listening) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+            listening = true;
+        }
+
+        if (role == Role.AUTHORITY) {
+            if (settings.interval > 0) {
+                long period = settings.interval * 20L;
+                heartbeat = plugin.getTaskScheduler().runGlobalTimer(this::publish, period, period);
+            }
+            publish();
+        } else if (this.epoch == null && !refused()) {
+            send(new SyncMessage(SyncMessage.REQUEST, 0L, System.currentTimeMillis(), 0, 0, 0));
+        }
+    }
+
+    void stop() {
+        cancelHeartbeat();
+        stopTransport();
+        epoch = null;
+    }
+
+    @Nullable SyncMessage epochFor(World world) {
+        SyncMessage epoch = this.epoch;
+        return epoch != null && world == this.world ? epoch : null;
+    }
+
+    CalendarConfig loadCalendar(ConfigurationSection yaml, Map<String, ConfigurationSection> languages,
+                                SyncSettings settings) {
+        CalendarConfig local = CalendarConfig.load(yaml, languages, null, null);
+        SyncMessage epoch = this.epoch;
+        World world = this.world;
+        if (epoch == null || world == null || settings.role != Role.FOLLOWER || epoch.sameCalendar(local.forWorld(world))) {
+            return local;
+        }
+        CalendarConfig synced = CalendarConfig.load(yaml, languages, world.getName(), epoch);
+        return epoch.sameCalendar(synced.forWorld(world)) ? synced : local;
+    }
+
+    boolean forwardTime(World world, long fullTime) {
+        if (role != Role.FOLLOWER || world != this.world || refused()) return false;
+        SyncMessage current = epoch;
+        long now = System.currentTimeMillis();
+        epoch = current != null
+                ? new SyncMessage(SyncMessage.EPOCH, fullTime, now, current.daysPerMonth, current.startYear, current.fingerprint)
+                : new SyncMessage(SyncMessage.EPOCH, fullTime, now, plugin.getCalendar(world));
+        send(new SyncMessage(SyncMessage.SET_TIME, fullTime, now, 0, 0, 0));
+        plugin.replanTransitions(world);
+        return true;
+    }
+
+    private void timeChanged(World world) {
+        if (role == Role.AUTHORITY && world == this.world) publish();
+    }
+
+    private void publish() {
+        World world = this.world;
+        if (role != Role.AUTHORITY || world == null) return;
+        send(new SyncMessage(SyncMessage.EPOCH, world.getFullTime(), System.currentTimeMillis(), plugin.getCalendar(world)));
+    }
+
+    private void reject(SyncMessage message) {
+        epoch = null;
+        rejected = message;
+        rejectedFor = plugin.getLoadedConfig().file;
+        plugin.getLogger().warning("Календарь ведущего сервера (месяцы, високосные годы или праздники) не совпадает "
+                + "с config.yml, синхронизация мира " + world.getName() + " отключена до исправления настроек");
+    }
+
+    private boolean refused() {
+        return rejected != null && rejectedFor == plugin.getLoadedConfig().file;
+    }
+
+    private void send(SyncMessage message) {
+        SyncTransport transport = this.transport;
+        if (transport != null) transport.send(message.encode());
+    }
+
+    private void receive(byte[] data) {
+        SyncMessage message = SyncMessage.decode(data);
+        if (message != null) plugin.getTaskScheduler().executeGlobal(() -> handle(message));
+    }
+
+    private void handle(SyncMessage message) {
+        if (world == null) world = resolveWorld();
+        World world = this.world;
+        if (world == null) return;
+
+        if (role == Role.AUTHORITY) {
+            if (message.type == SyncMessage.SET_TIME) {
+                world.setFullTime(message.epochTick);
+                plugin.replanTransitions(world);
+            } else if (message.type == SyncMessage.REQUEST) {
+                publish();
+            }
+            return;
+        }
+
+        if (role != Role.FOLLOWER || message.type != SyncMessage.EPOCH) return;
+        if (refused() && message.sameCalendar(rejected)) return;
+        SyncMessage current = epoch;
+        if (current != null && message.anchorMillis < current.anchorMillis) return;
+        epoch = message;
+        if (message.sameCalendar(plugin.getCalendar(world))) {
+            plugin.replanTransitions(world);
+        } else {
+            plugin.resync();
+        }
+    }
+
+    private @Nullable World resolveWorld() {
+        String name = worldName;
+        return name.isEmpty() ? plugin.getMainWorld() : Bukkit.getWorld(name);
+    }
+
+    private void cancelHeartbeat() {
+        if (heartbeat != null) {
+            heartbeat.cancel();
+            heartbeat = null;
+        }
+    }
+
+    private void stopTransport() {
+        if (transport != null) {
+            transport.stop();
+            transport = null;
+            transportKey = null;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        plugin.getTaskScheduler().runGlobalLater(() -> {
+            if (role == Role.AUTHORITY) {
+                publish();
+            } else if (role == Role.FOLLOWER && epoch == null) {
+                send(new SyncMessage(SyncMessage.REQUEST, 0L, System.currentTimeMillis(), 0, 0, 0));
+            }
+        }, JOIN_DELAY);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTimeSkip(TimeSkipEvent event) {
+        World world = event.getWorld();
+        plugin.getTaskScheduler().runGlobal(() -> timeChanged(world));
+    }
+}
@@ -0,0 +1,119 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+final class ConfigReloader {
+
+    private final JRPIndicators plugin;
+    private final PlaceholderTable placeholders;
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile YamlConfiguration defaults;
+
+    ConfigReloader(JRPIndicators plugin, PlaceholderTable placeholders) {
+        this.plugin = plugin;
+        this.placeholders = placeholders;
+    }
+
+    LoadedConfig loadNow() {
+        try {
+            return load();
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().log(Level.SEVERE, "Ошибка в config.yml, используются настройки по умолчанию", e);
+            return build(defaults(), Map.of());
+        }
+    }
+
+    void reload(@Nullable CommandSender sender) {
+        int current = generation.incrementAndGet();
+        plugin.getTaskScheduler().runAsync(() -> {
+            LoadedConfig loaded;
+            try {
+                loaded = load();
+            } catch (IOException | InvalidConfigurationException e) {
+                plugin.getLogger().log(Level.WARNING, "Не удалось перезагрузить config.yml", e);
+                if (sender != null) {
+                    plugin.getTaskScheduler().runGlobal(() -> sender.sendMessage(JRPIndicators.colorize(
+                            plugin.getConfig().getString("messages.reload-failed", "&c[JRPI] Ошибка в config.yml: %error%")
+                                    .replace("%error%", String.valueOf(e.getMessage())))));
+                }
+                return;
+            }
+            plugin.getTaskScheduler().runGlobal(() -> {
+                if (current != generation.get() || !plugin.isEnabled()) return;
+                plugin.applyConfig(loaded);
+                if (sender != null) {
+                    sender.sendMessage(JRPIndicators.colorize(plugin.getConfig().getString("messages.reload-success", "")));
+                } else {
+                    plugin.getLogger().info("config.yml изменён, конфигурация перезагружена");
+                }
+            });
+        });
+    }
+
+    private LoadedConfig load() throws IOException, InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.load(new File(plugin.getDataFolder(), "config.yml"));
+        yaml.setDefaults(defaults());
+        return build(yaml, languages());
+    }
+
+    private Map<String, ConfigurationSection> languages() throws IOException, InvalidConfigurationException {
+        File folder = new File(plugin.getDataFolder(), "lang");
+        if (!folder.isDirectory()) plugin.saveResource("lang/en_us.yml.example", false);
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) return Map.of();
+
+        Map<String, ConfigurationSection> languages = new TreeMap<>();
+        for (File file : files) {
+            YamlConfiguration language = new YamlConfiguration();
+            language.load(file);
+            String name = file.getName();
+            languages.put(name.substring(0, name.length() - 4).toLowerCase(Locale.ROOT), language);
+        }
+        return Collections.unmodifiableMap(languages);
+    }
+
+    private LoadedConfig build(FileConfiguration yaml, Map<String, ConfigurationSection> languages) {
+        SyncSettings sync = new SyncSettings(yaml);
+        CalendarConfig calendar = plugin.getCalendarSync().loadCalendar(yaml, languages, sync);
+        calendar.warnings.forEach(plugin.getLogger()::warning);
+        return new LoadedConfig(yaml, languages, calendar, placeholders.compileTemplates(new TemplateSettings(yaml).patterns),
+                new HudSettings(yaml), new StatsSettings(yaml), new AutoReloadSettings(yaml),
+                new JournalSettings(yaml), sync);
+    }
+
+    private YamlConfiguration defaults() {
+        YamlConfiguration defaults = this.defaults;
+        if (defaults == null) {
+            defaults = new YamlConfiguration();
+            InputStream in = plugin.getResource("config.yml");
+            if (in != null) {
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    defaults.load(reader);
+                } catch (IOException | InvalidConfigurationException e) {
+                    plugin.getLogger().log(Level.WARNING, "Не удалось прочитать встроенный config.yml", e);
+                }
+            }
+            this.defaults = defaults;
+        }
+        return defaults;
+    }
+}
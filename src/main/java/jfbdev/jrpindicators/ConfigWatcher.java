@@ -0,0 +1,96 @@
+package jfbdev.jrpindicators;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+final class ConfigWatcher implements Runnable {
+
+    private static final Path CONFIG = Path.of("config.yml");
+    private static final long STOP_TIMEOUT = 1000L;
+
+    private final JRPIndicators plugin;
+    private final ConfigReloader reloader;
+    private Thread thread;
+    private WatchService service;
+    private volatile long delay;
+
+    ConfigWatcher(JRPIndicators plugin, ConfigReloader reloader) {
+        this.plugin = plugin;
+        this.reloader = reloader;
+    }
+
+    void update(AutoReloadSettings settings) {
+        delay = settings.delay;
+        if (settings.enabled && thread == null) {
+            try {
+                service = FileSystems.getDefault().newWatchService();
+                plugin.getDataFolder().toPath().register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Не удалось включить автоматическую перезагрузку config.yml", e);
+                stop();
+                return;
+            }
+            thread = new Thread(this, "JRPIndicators-ConfigWatcher");
+            thread.setDaemon(true);
+            thread.start();
+        } else if (!settings.enabled) {
+            stop();
+        }
+    }
+
+    void stop() {
+        Thread thread = this.thread;
+        this.thread = null;
+        if (thread != null) thread.interrupt();
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ignored) {
+            }
+            service = null;
+        }
+        if (thread != null) {
+            try {
+                thread.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        WatchService service = this.service;
+        long due = 0L;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long wait = due == 0L ? -1L : due - System.currentTimeMillis();
+                if (due != 0L && wait <= 0L) {
+                    due = 0L;
+                    if (!plugin.isEnabled()) break;
+                    reloader.reload(null);
+                    continue;
+                }
+
+                WatchKey key = wait < 0L ? service.take() : service.poll(wait, TimeUnit.MILLISECONDS);
+                if (key == null) continue;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (CONFIG.equals(event.context())) {
+                        due = System.currentTimeMillis() + delay;
+                    }
+                }
+                if (!key.reset()) break;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+        }
+    }
+}
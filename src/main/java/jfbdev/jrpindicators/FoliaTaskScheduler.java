@@ -0,0 +1,164 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+final class FoliaTaskScheduler implements TaskScheduler {
+
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+    private final Object globalScheduler;
+    private final Object regionScheduler;
+    private final Object asyncScheduler;
+    private final Method isGlobalTickThread;
+    private final Method isOwnedByEntity;
+    private final Method isOwnedByLocation;
+    private final Method globalExecute;
+    private final Method globalRunDelayed;
+    private final Method globalRunAtFixedRate;
+    private final Method regionExecute;
+    private final Method entityScheduler;
+    private final Method entityExecute;
+    private final Method entityRunAtFixedRate;
+    private final Method asyncRunNow;
+    private final Method asyncRunAtFixedRate;
+    private final Method cancel;
+
+    FoliaTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        try {
+            isGlobalTickThread = Bukkit.class.getMethod("isGlobalTickThread");
+            isOwnedByEntity = Bukkit.class.getMethod("isOwnedByCurrentRegion", Entity.class);
+            isOwnedByLocation = Bukkit.class.getMethod("isOwnedByCurrentRegion", Location.class);
+            globalScheduler = Bukkit.class.getMethod("getGlobalRegionScheduler").invoke(null);
+            regionScheduler = Bukkit.class.getMethod("getRegionScheduler").invoke(null);
+            asyncScheduler = Bukkit.class.getMethod("getAsyncScheduler").invoke(null);
+
+            Class<?> global = Class.forName("io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler");
+            globalExecute = global.getMethod("execute", Plugin.class, Runnable.class);
+            globalRunDelayed = global.getMethod("runDelayed", Plugin.class, Consumer.class, long.class);
+            globalRunAtFixedRate = global.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+
+            Class<?> region = Class.forName("io.papermc.paper.threadedregions.scheduler.RegionScheduler");
+            regionExecute = region.getMethod("execute", Plugin.class, Location.class, Runnable.class);
+
+            Class<?> entity = Class.forName("io.papermc.paper.threadedregions.scheduler.EntityScheduler");
+            entityScheduler = Entity.class.getMethod("getScheduler");
+            entityExecute = entity.getMethod("execute", Plugin.class, Runnable.class, Runnable.class, long.class);
+            entityRunAtFixedRate = entity.getMethod("runAtFixedRate", Plugin.class, Consumer.class, Runnable.class,
+                    long.class, long.class);
+
+            Class<?> async = Class.forName("io.papermc.paper.threadedregions.scheduler.AsyncScheduler");
+            asyncRunNow = async.getMethod("runNow", Plugin.class, Consumer.class);
+            asyncRunAtFixedRate = async.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class,
+                    TimeUnit.class);
+
+            cancel = Class.forName("io.papermc.paper.threadedregions.scheduler.ScheduledTask").getMethod("cancel");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Folia scheduler API is not available", e);
+        }
+    }
+
+    static boolean isSupported() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isFolia() {
+        return true;
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return (Boolean) invoke(isGlobalTickThread, null);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Entity entity) {
+        return (Boolean) invoke(isOwnedByEntity, null, entity);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Location location) {
+        return (Boolean) invoke(isOwnedByLocation, null, location);
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        invoke(globalExecute, globalScheduler, plugin, task);
+    }
+
+    @Override
+    public Task runGlobalLater(Runnable task, long delay) {
+        return handle(invoke(globalRunDelayed, globalScheduler, plugin, consumer(task), Math.max(1L, delay)));
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delay, long period) {
+        return handle(invoke(globalRunAtFixedRate, globalScheduler, plugin, consumer(task), Math.max(1L, delay),
+                Math.max(1L, period)));
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        invoke(regionExecute, regionScheduler, plugin, location, task);
+    }
+
+    @Override
+    public void run(Entity entity, Runnable task) {
+        invoke(entityExecute, invoke(entityScheduler, entity), plugin, task, null, 1L);
+    }
+
+    @Override
+    public Task runTimer(Entity entity, Runnable task, long delay, long period) {
+        return handle(invoke(entityRunAtFixedRate, invoke(entityScheduler, entity), plugin, consumer(task), null,
+                Math.max(1L, delay), Math.max(1L, period)));
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        invoke(asyncRunNow, asyncScheduler, plugin, consumer(task));
+    }
+
+    @Override
+    public Task runAsyncTimer(Runnable task, long delay, long period) {
+        return handle(invoke(asyncRunAtFixedRate, asyncScheduler, plugin, consumer(task),
+                Math.max(0L, delay) * MILLIS_PER_TICK, Math.max(1L, period) * MILLIS_PER_TICK, TimeUnit.MILLISECONDS));
+    }
+
+    private Task handle(Object scheduled) {
+        if (scheduled == null) return () -> {
+        };
+        return () -> invoke(cancel, scheduled);
+    }
+
+    private static Consumer<Object> consumer(Runnable task) {
+        return scheduled -> task.run();
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+final class GreetingBroadcaster implements Runnable {
+
+    private final JRPIndicators plugin;
+    private final ArrayDeque<Delivery> pending = new ArrayDeque<>();
+    private TaskScheduler.Task task;
+
+    GreetingBroadcaster(JRPIndicators plugin) {
+        this.plugin = plugin;
+    }
+
+    void broadcast(World world, CalendarConfig config, List<String> messages) {
+        if (messages.isEmpty()) return;
+        String message = messages.size() == 1 ? messages.get(0) : String.join(config.greetingSeparator, messages);
+
+        List<Player> recipients = new ArrayList<>();
+        for (Player player : world.getPlayers()) {
+            if (!plugin.isGreetingMuted(player)) recipients.add(player);
+        }
+        if (recipients.isEmpty()) return;
+        Stats.BROADCASTS.add(1);
+        Stats.RECIPIENTS.add(recipients.size());
+
+        int batchSize = config.greetingBatchSize;
+        if (batchSize <= 0 || recipients.size() <= batchSize) {
+            for (Player player : recipients) {
+                deliver(player, message);
+            }
+            return;
+        }
+
+        Stats.BATCHED_DELIVERIES.add(1);
+        pending.add(new Delivery(message, recipients.toArray(new Player[0]), batchSize));
+        if (task == null) {
+            task = plugin.getTaskScheduler().runGlobalTimer(this, 1L, 1L);
+        }
+    }
+
+    @Override
+    public void run() {
+        Delivery delivery = pending.peek();
+        if (delivery == null) {
+            stop();
+            return;
+        }
+
+        int budget = delivery.batchSize;
+        while (delivery != null && budget > 0) {
+            while (budget > 0 && delivery.next < delivery.recipients.length) {
+                Player player = delivery.recipients[delivery.next++];
+                if (player.isOnline() && !plugin.isGreetingMuted(player)) {
+                    deliver(player, delivery.message);
+                    budget--;
+                }
+            }
+            if (delivery.next < delivery.recipients.length) break;
+            pending.poll();
+            delivery = pending.peek();
+        }
+    }
+
+    private void deliver(Player player, String message) {
+        plugin.getTaskScheduler().execute(player, () -> player.sendMessage(message));
+    }
+
+    void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        pending.clear();
+    }
+
+    private static final class Delivery {
+
+        final String message;
+        final Player[] recipients;
+        final int batchSize;
+        int next;
+
+        Delivery(String message, Player[] recipients, int batchSize) {
+            this.message = message;
+            this.recipients = recipients;
+            this.batchSize = batchSize;
+        }
+    }
+}
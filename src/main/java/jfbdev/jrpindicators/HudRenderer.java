@@ -0,0 +1,146 @@
+package jfbdev.jrpindicators;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+final class HudRenderer implements Runnable {
+
+    private final JRPIndicators plugin;
+    private final PlayerTracker players;
+    private volatile Layout layout;
+    private int budget;
+    private int cursor;
+    private int position;
+    private int resume;
+
+    HudRenderer(JRPIndicators plugin, PlayerTracker players) {
+        this.plugin = plugin;
+        this.players = players;
+    }
+
+    void start() {
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        if (!scheduler.isFolia()) {
+            scheduler.runGlobalTimer(this, 1L, 1L);
+            return;
+        }
+        players.onTrack(state -> attach(state.player));
+    }
+
+    private void attach(Player player) {
+        plugin.getTaskScheduler().runTimer(player, () -> {
+            PlayerState state = players.get(player);
+            if (state != null) update(state, layout(), true);
+        }, 1L, 1L);
+    }
+
+    @Override
+    public void run() {
+        Layout layout = layout();
+        budget = layout.settings.playersPerTick > 0 ? layout.settings.playersPerTick : Integer.MAX_VALUE;
+        int start = cursor;
+        resume = start;
+        position = 0;
+        players.forEach(state -> {
+            if (position++ >= start) serve(state, layout);
+        });
+        position = 0;
+        players.forEach(state -> {
+            if (position++ < start) serve(state, layout);
+        });
+        cursor = resume;
+    }
+
+    private void serve(PlayerState state, Layout layout) {
+        if (update(state, layout, budget > 0)) {
+            budget--;
+            resume = position;
+        }
+    }
+
+    private Layout layout() {
+        HudSettings settings = plugin.getLoadedConfig().hud;
+        Layout layout = this.layout;
+        if (layout != null && layout.settings == settings) return layout;
+        synchronized (this) {
+            layout = this.layout;
+            if (layout == null || layout.settings != settings) {
+                layout = new Layout(settings, settings.enabled
+                        ? LineTemplate.compile(settings.format, plugin.getPlaceholders())
+                        : null);
+                this.layout = layout;
+            }
+        }
+        return layout;
+    }
+
+    private boolean update(PlayerState state, Layout layout, boolean allowed) {
+        HudView view = state.hud;
+        if (view != null && (state.hudHidden || view.settings != layout.settings)) {
+            view.close();
+            state.hud = view = null;
+        }
+        if (state.hudHidden || layout.template == null) return false;
+        if (view == null) {
+            view = new HudView(layout.settings);
+            state.hud = view;
+        }
+        int tick = ++view.tick;
+        if (!allowed || tick < view.nextTick) return false;
+
+        PlayerSnapshot snapshot = state.snapshot;
+        if (snapshot == null) return false;
+        WorldCalendarState calendar = plugin.getPublishedState(snapshot.world);
+        if (calendar == null) return false;
+
+        HudSettings settings = layout.settings;
+        view.nextTick = tick + settings.updateInterval;
+        long start = Stats.start();
+        String line = layout.template.render(view.cache, snapshot, calendar);
+        Stats.HUD.record(start);
+        boolean changed = !line.equals(view.sent);
+
+        if (settings.bossBar) {
+            if (view.bossBar == null) {
+                view.bossBar = Bukkit.createBossBar(line, settings.barColor, settings.barStyle);
+                view.bossBar.addPlayer(state.player);
+            } else if (changed) {
+                view.bossBar.setTitle(line);
+            }
+        } else if (changed || tick - view.sentTick >= settings.actionBarRefresh) {
+            sendActionBar(state.player, line);
+        } else {
+            return true;
+        }
+        Stats.HUD_UPDATES.add(1);
+        view.sent = line;
+        view.sentTick = tick;
+        return true;
+    }
+
+    private static void sendActionBar(Player player, String line) {
+        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(line));
+    }
+
+    void stop() {
+        players.forEach(state -> {
+            if (state.hud != null) {
+                state.hud.close();
+                state.hud = null;
+            }
+        });
+    }
+
+    private static final class Layout {
+
+        final HudSettings settings;
+        final LineTemplate template;
+
+        Layout(HudSettings settings, LineTemplate template) {
+            this.settings = settings;
+            this.template = template;
+        }
+    }
+}
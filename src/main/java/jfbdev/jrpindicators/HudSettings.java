@@ -0,0 +1,28 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.configuration.ConfigurationSection;
+
+final class HudSettings {
+
+    final boolean enabled;
+    final boolean bossBar;
+    final String format;
+    final int updateInterval;
+    final int playersPerTick;
+    final int actionBarRefresh;
+    final BarColor barColor;
+    final BarStyle barStyle;
+
+    HudSettings(ConfigurationSection config) {
+        enabled = config.getBoolean("hud.enabled", false);
+        bossBar = "bossbar".equalsIgnoreCase(config.getString("hud.mode", "actionbar"));
+        format = config.getString("hud.format", "");
+        updateInterval = Math.max(1, config.getInt("hud.update-interval", 5));
+        playersPerTick = config.getInt("hud.players-per-tick", 100);
+        actionBarRefresh = Math.max(1, config.getInt("hud.actionbar-refresh", 40));
+        barColor = CalendarConfig.option(BarColor.class, config.getString("hud.bossbar.color", "WHITE"), BarColor.WHITE);
+        barStyle = CalendarConfig.option(BarStyle.class, config.getString("hud.bossbar.style", "SOLID"), BarStyle.SOLID);
+    }
+}
@@ -0,0 +1,26 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.boss.BossBar;
+
+final class HudView {
+
+    final HudSettings settings;
+    final LineTemplate.Cache cache = new LineTemplate.Cache();
+    BossBar bossBar;
+    String sent;
+    int tick;
+    int sentTick;
+    int nextTick;
+
+    HudView(HudSettings settings) {
+        this.settings = settings;
+    }
+
+    void close() {
+        if (bossBar != null) {
+            bossBar.removeAll();
+            bossBar = null;
+        }
+        sent = null;
+    }
+}
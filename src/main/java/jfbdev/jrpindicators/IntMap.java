@@ -0,0 +1,85 @@
+package jfbdev.jrpindicators;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+final class IntMap<V> {
+
+    private volatile Table table = new Table(16);
+
+    @SuppressWarnings("unchecked")
+    @Nullable V get(int key) {
+        Table table = this.table;
+        int mask = table.keys.length - 1;
+        int slot = mix(key) & mask;
+        while (table.values[slot] != null) {
+            if (table.keys[slot] == key) return (V) table.values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    synchronized void put(int key, V value) {
+        Table current = table;
+        int size = current.size + (get(key) == null ? 1 : 0);
+        int capacity = current.keys.length;
+        while (size * 2 > capacity) capacity <<= 1;
+
+        Table copy = new Table(capacity);
+        copy.copyFrom(current, key);
+        copy.insert(key, value);
+        table = copy;
+    }
+
+    synchronized void remove(int key) {
+        Table current = table;
+        if (get(key) == null) return;
+        Table copy = new Table(current.keys.length);
+        copy.copyFrom(current, key);
+        table = copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<V> action) {
+        Table table = this.table;
+        for (Object value : table.values) {
+            if (value != null) action.accept((V) value);
+        }
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+        int size;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+        }
+
+        void copyFrom(Table source, int skippedKey) {
+            for (int i = 0; i < source.keys.length; i++) {
+                if (source.values[i] != null && source.keys[i] != skippedKey) {
+                    insert(source.keys[i], source.values[i]);
+                }
+            }
+        }
+
+        void insert(int key, Object value) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+    }
+}
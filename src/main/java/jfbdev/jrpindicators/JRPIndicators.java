@@ -3,52 +3,51 @@ package jfbdev.jrpindicators;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCompleter {
 
+    private final TaskScheduler scheduler = TaskScheduler.create(this);
     private JRPIndicatorsExpansion placeholderExpansion;
-    private int daysPerMonth;
-    private int startYear;
-    private final Map<String, List<Integer>> seasonMonths = new HashMap<>();
-    private final Map<String, String> seasonNames = new HashMap<>();
-    private String lastDayPhase = "";
-    private String lastWeather = "";
-    private String lastSeason = "";
-    private String lastZodiac = "";
-    private String lastHolidayDate = "";
-    private final Map<String, List<String>> dayGreetings = new HashMap<>();
-    private final Map<String, List<String>> weatherGreetings = new HashMap<>();
-    private final Map<String, List<String>> seasonGreetings = new HashMap<>();
-    private final Map<String, List<String>> zodiacGreetings = new HashMap<>();
-    private final Map<String, List<String>> holidayGreetings = new HashMap<>();
-    private final Map<String, String> holidayNames = new HashMap<>();
-    private boolean dayGreetingEnabled;
-    private boolean weatherGreetingEnabled;
-    private boolean seasonGreetingEnabled;
-    private boolean zodiacGreetingEnabled;
-    private boolean holidayGreetingEnabled;
-    private final Random random = new Random();
+    private TransitionScheduler transitions;
+    private final TemperatureCache temperatures = new TemperatureCache();
+    private final Map<UUID, WorldCalendarState> worldStates = new ConcurrentHashMap<>();
+    private PlayerTracker players;
+    private final GreetingBroadcaster greetings = new GreetingBroadcaster(this);
+    private NamespacedKey greetingsKey;
+    private NamespacedKey hudKey;
+    private final PlaceholderTable placeholders = new PlaceholderTable(this::getTemplates);
+    private HudRenderer hud;
+    private final StatsReporter stats = new StatsReporter(this);
+    private final TransitionDetector detector = new TransitionDetector();
+    private final ConfigReloader reloader = new ConfigReloader(this, placeholders);
+    private final ConfigWatcher watcher = new ConfigWatcher(this, reloader);
+    private final TransitionJournal journal = new TransitionJournal(this);
+    private final CalendarSync sync = new CalendarSync(this);
+    private volatile LoadedConfig loaded;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
-        loadConfigValues();
-        loadSeasons();
-        loadGreetings();
-        loadHolidays();
+        applyConfig(reloader.loadNow());
+        greetingsKey = new NamespacedKey(this, "greetings");
+        hudKey = new NamespacedKey(this, "hud");
 
         Objects.requireNonNull(getCommand("jrpi")).setExecutor(this);
         Objects.requireNonNull(getCommand("jrpi")).setTabCompleter(this);
@@ -58,221 +57,215 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
             placeholderExpansion.register();
         }
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkAllChanges();
-            }
-        }.runTaskTimer(this, 0L, 20L * 30);
+        Bukkit.getPluginManager().registerEvents(temperatures, this);
+
+        players = new PlayerTracker(this, temperatures);
+        hud = new HudRenderer(this, players);
+        hud.start();
+        players.start();
+        scheduler.runGlobalTimer(new SnapshotPublisher(this), 1L, 1L);
+
+        transitions = new TransitionScheduler(this);
+        transitions.start();
     }
 
-    private void loadConfigValues() {
-        daysPerMonth = getConfig().getInt("calendar.months_days_count", 28);
-        startYear = getConfig().getInt("calendar.start_year", 1200);
+    void applyConfig(LoadedConfig loaded) {
+        this.loaded = loaded;
+        stats.start(loaded.stats);
+        watcher.update(loaded.autoReload);
+        journal.update(loaded.journal);
+        sync.update(loaded.sync);
+
+        if (transitions != null) transitions.reload();
+        if (players != null) players.refreshAll();
     }
 
-    private void loadSeasons() {
-        seasonMonths.clear();
-        seasonNames.clear();
+    @Override
+    public @NotNull FileConfiguration getConfig() {
+        LoadedConfig loaded = this.loaded;
+        return loaded != null ? loaded.file : super.getConfig();
+    }
 
-        seasonMonths.put("spring", List.of(3, 4, 5));
-        seasonMonths.put("summer", List.of(6, 7, 8));
-        seasonMonths.put("autumn", List.of(9, 10, 11));
-        seasonMonths.put("winter", List.of(12, 1, 2));
+    void checkAllChanges(WorldCalendar calendar) {
+        long start = Stats.start();
+        World world = calendar.world;
+        WorldCalendarState state = getCalendarState(world);
+        int weather = state.config.weatherGreetingEnabled ? getCurrentWeather(world) : WorldCalendar.UNSEEN;
+        if (weather == WorldCalendar.UNSEEN) weather = calendar.lastWeather;
+        greetings.broadcast(world, state.config, detector.detect(calendar, state, weather));
+        journal.record(calendar, state.fullTime);
+        Stats.CHECK_ALL.record(start);
+    }
 
-        seasonNames.put("spring", getConfig().getString("seasons.spring.name", "&aВесна"));
-        seasonNames.put("summer", getConfig().getString("seasons.summer.name", "&eЛето"));
-        seasonNames.put("autumn", getConfig().getString("seasons.autumn.name", "&6Осень"));
-        seasonNames.put("winter", getConfig().getString("seasons.winter.name", "&bЗима"));
+    void restoreTransitions(WorldCalendar calendar) {
+        journal.restore(calendar);
+    }
 
-        if (getConfig().isConfigurationSection("seasons")) {
-            for (String key : Objects.requireNonNull(getConfig().getConfigurationSection("seasons")).getKeys(false)) {
-                String path = "seasons." + key + ".";
-                List<Integer> months = getConfig().getIntegerList(path + "months");
-                String name = getConfig().getString(path + "name", key);
-                if (!months.isEmpty()) {
-                    seasonMonths.put(key.toLowerCase(), months);
-                    seasonNames.put(key.toLowerCase(), name);
-                }
-            }
-        }
+    void replanTransitions(World world) {
+        if (transitions != null) transitions.replan(world);
     }
 
-    private void loadGreetings() {
-        dayGreetingEnabled = getConfig().getBoolean("day-greeting.enabled", false);
-        weatherGreetingEnabled = getConfig().getBoolean("weather-greeting.enabled", false);
-        seasonGreetingEnabled = getConfig().getBoolean("season-greeting.enabled", false);
-        zodiacGreetingEnabled = getConfig().getBoolean("zodiac_year_greeting.enabled", false);
-        holidayGreetingEnabled = getConfig().getBoolean("holiday_greeting.enabled", false);
+    void resync() {
+        LoadedConfig current = loaded;
+        applyConfig(current.withCalendar(sync.loadCalendar(current.file, current.languages, current.sync)));
+    }
 
-        dayGreetings.clear();
-        weatherGreetings.clear();
-        seasonGreetings.clear();
-        zodiacGreetings.clear();
-        holidayGreetings.clear();
+    long getFullTime(World world) {
+        SyncMessage epoch = sync.epochFor(world);
+        return epoch != null ? epoch.fullTimeAt(System.currentTimeMillis()) : world.getFullTime();
+    }
 
-        for (String phase : List.of("morning", "day", "evening", "night")) {
-            List<String> msgs = getConfig().getStringList("day-greeting." + phase);
-            if (!msgs.isEmpty()) dayGreetings.put(phase, msgs);
-        }
+    void setFullTime(World world, long fullTime) {
+        if (sync.forwardTime(world, fullTime)) return;
+        world.setFullTime(fullTime);
+        replanTransitions(world);
+    }
 
-        for (String w : List.of("sun", "rain", "snow", "storm")) {
-            List<String> msgs = getConfig().getStringList("weather-greeting." + w);
-            if (!msgs.isEmpty()) weatherGreetings.put(w, msgs);
-        }
+    CalendarSync getCalendarSync() {
+        return sync;
+    }
 
-        for (String s : List.of("spring", "summer", "autumn", "winter")) {
-            List<String> msgs = getConfig().getStringList("season-greeting." + s);
-            if (!msgs.isEmpty()) seasonGreetings.put(s, msgs);
+    WorldCalendarState getCalendarState(World world) {
+        CalendarConfig calendar = loaded.calendar;
+        long fullTime = getFullTime(world);
+        WorldCalendarState state = worldStates.get(world.getUID());
+        if (state != null && state.isCurrent(calendar, fullTime)) {
+            Stats.STATE_CACHE.hit();
+        } else {
+            Stats.STATE_CACHE.miss();
+            state = WorldCalendarState.compute(calendar, calendar.forWorld(world), fullTime, state);
+            worldStates.put(world.getUID(), state);
         }
+        return state;
+    }
 
-        if (getConfig().isConfigurationSection("zodiac_year_greeting")) {
-            for (String animal : Objects.requireNonNull(getConfig().getConfigurationSection("zodiac_year_greeting")).getKeys(false)) {
-                List<String> msgs = getConfig().getStringList("zodiac_year_greeting." + animal);
-                if (!msgs.isEmpty()) {
-                    zodiacGreetings.put(animal, msgs);
-                }
-            }
+    @Nullable WorldCalendarState getPublishedState(UUID worldId) {
+        WorldCalendarState state = worldStates.get(worldId);
+        if (state == null && Bukkit.isPrimaryThread()) {
+            World world = Bukkit.getWorld(worldId);
+            if (world != null) state = getCalendarState(world);
         }
+        return state;
+    }
 
-        if (getConfig().isConfigurationSection("holiday_greeting")) {
-            for (String date : Objects.requireNonNull(getConfig().getConfigurationSection("holiday_greeting")).getKeys(false)) {
-                List<String> msgs = getConfig().getStringList("holiday_greeting." + date);
-                if (!msgs.isEmpty()) {
-                    holidayGreetings.put(date, msgs);
-                }
-            }
+    @Nullable PlayerSnapshot getSnapshot(Player player) {
+        if (players == null) return null;
+        PlayerState state = players.get(player);
+        if (state == null) {
+            return player.isOnline() && scheduler.isOwnedByCurrentRegion(player) ? players.track(player).snapshot : null;
         }
+        return state.snapshot;
     }
 
-    private void loadHolidays() {
-        holidayNames.clear();
-        if (getConfig().isConfigurationSection("holidays.dates")) {
-            for (String key : Objects.requireNonNull(getConfig().getConfigurationSection("holidays.dates")).getKeys(false)) {
-                String name = getConfig().getString("holidays.dates." + key, "");
-                if (!name.isEmpty()) {
-                    holidayNames.put(key, colorize(name));
-                }
-            }
-        }
+    CalendarConfig getCalendar() {
+        return loaded.calendar;
     }
 
-    private void checkAllChanges() {
-        World world = getMainWorld();
-        if (world == null) return;
+    LoadedConfig getLoadedConfig() {
+        return loaded;
+    }
 
-        checkDayPhaseChange(world);
-        checkWeatherChange(world);
-        checkSeasonChange(world);
-        checkZodiacChange(world);
-        checkHolidayChange(world);
+    private Map<String, LineTemplate> getTemplates() {
+        LoadedConfig loaded = this.loaded;
+        return loaded != null ? loaded.templates : Map.of();
     }
 
-    private @Nullable World getMainWorld() {
-        List<World> worlds = Bukkit.getWorlds();
-        return worlds.isEmpty() ? null : worlds.get(0);
+    TaskScheduler getTaskScheduler() {
+        return scheduler;
     }
 
-    private void checkDayPhaseChange(World world) {
-        if (!dayGreetingEnabled) return;
-        String current = getCurrentDayPhaseKey(world);
-        if (!current.equals(lastDayPhase) && !current.isEmpty()) {
-            List<String> msgs = dayGreetings.get(current);
-            if (msgs != null && !msgs.isEmpty()) {
-                Bukkit.broadcastMessage(colorize(msgs.get(random.nextInt(msgs.size()))));
-            }
-            lastDayPhase = current;
-        }
+    PlaceholderTable getPlaceholders() {
+        return placeholders;
     }
 
-    private void checkWeatherChange(World world) {
-        if (!weatherGreetingEnabled) return;
-        String current = getCurrentWeatherKey(world);
-        if (!current.equals(lastWeather) && !current.isEmpty()) {
-            List<String> msgs = weatherGreetings.get(current);
-            if (msgs != null && !msgs.isEmpty()) {
-                Bukkit.broadcastMessage(colorize(msgs.get(random.nextInt(msgs.size()))));
-            }
-            lastWeather = current;
-        }
+    CalendarConfig getCalendar(World world) {
+        return loaded.calendar.forWorld(world);
     }
 
-    private void checkSeasonChange(World world) {
-        if (!seasonGreetingEnabled) return;
-        String currentSeason = getSeasonKey(world);
-        if (!currentSeason.equals(lastSeason) && !lastSeason.isEmpty()) {
-            List<String> msgs = seasonGreetings.get(currentSeason);
-            if (msgs != null && !msgs.isEmpty()) {
-                Bukkit.broadcastMessage(colorize(msgs.get(random.nextInt(msgs.size()))));
-            }
-        }
-        lastSeason = currentSeason;
+    boolean isCalendarWorld(World world) {
+        return loaded.calendar.isCalendarWorld(world);
     }
 
-    private void checkZodiacChange(World world) {
-        if (!zodiacGreetingEnabled) return;
-        String currentZodiac = getZodiacAnimal(world);
-        if (!currentZodiac.equals(lastZodiac) && !currentZodiac.isEmpty()) {
-            List<String> messages = zodiacGreetings.get(currentZodiac);
-            if (messages != null && !messages.isEmpty()) {
-                String msg = messages.get(random.nextInt(messages.size()));
-                Bukkit.broadcastMessage(colorize(msg));
-            }
-            lastZodiac = currentZodiac;
-        }
+    void forgetWorld(World world) {
+        worldStates.remove(world.getUID());
     }
 
-    private void checkHolidayChange(World world) {
-        if (!holidayGreetingEnabled) return;
-        String currentDateKey = getGameMonth(world) + "-" + getGameDay(world);
-        if (!currentDateKey.equals(lastHolidayDate) && !lastHolidayDate.isEmpty()) {
-            List<String> messages = holidayGreetings.get(currentDateKey);
-            if (messages != null && !messages.isEmpty()) {
-                String msg = messages.get(random.nextInt(messages.size()));
-                Bukkit.broadcastMessage(colorize(msg));
-            }
+    @Nullable World getMainWorld() {
+        List<World> worlds = Bukkit.getWorlds();
+        return worlds.isEmpty() ? null : worlds.get(0);
+    }
+
+    private int getCurrentWeather(World world) {
+        if (!world.hasStorm()) return CalendarConfig.WEATHER_SUN;
+        Location spawn = world.getSpawnLocation();
+        int x = spawn.getBlockX();
+        int y = spawn.getBlockY();
+        int z = spawn.getBlockZ();
+        if (scheduler.isOwnedByCurrentRegion(spawn)) {
+            float temperature = temperatures.temperature(world, x, y, z);
+            return Float.isNaN(temperature) ? WorldCalendar.UNSEEN : CalendarConfig.weather(world, temperature);
+        }
+        float temperature = temperatures.cached(world, x, y, z);
+        if (Float.isNaN(temperature)) {
+            scheduler.runAt(spawn, () -> {
+                temperatures.temperature(world, x, y, z);
+                scheduler.executeGlobal(() -> {
+                    if (transitions != null) transitions.requestCheck(world);
+                });
+            });
+            return WorldCalendar.UNSEEN;
         }
-        lastHolidayDate = currentDateKey;
+        return CalendarConfig.weather(world, temperature);
     }
 
-    private String getCurrentDayPhaseKey(World world) {
-        long ticks = world.getTime();
-        long adjusted = (ticks + 6000) % 24000;
-        int hour = (int) (adjusted / 1000);
+    public int getGameYear(World world) {
+        return getCalendarState(world).year;
+    }
 
-        if (hour >= 4 && hour < 12) return "morning";
-        if (hour >= 12 && hour < 18) return "day";
-        if (hour >= 18 && hour < 22) return "evening";
-        return "night";
+    public String getZodiacAnimal(World world) {
+        WorldCalendarState state = getCalendarState(world);
+        return state.config.zodiacKeys[state.zodiac];
     }
 
-    private String getCurrentWeatherKey(World world) {
-        if (!world.hasStorm()) return "sun";
-        if (world.isThundering()) return "storm";
-        Block block = world.getHighestBlockAt(world.getSpawnLocation());
-        float temp = (float) block.getTemperature();
-        return temp < 0.15f ? "snow" : "rain";
+    boolean isGreetingMuted(Player player) {
+        PlayerState state = players.get(player);
+        return state != null && state.greetingsMuted;
     }
 
-    private String getSeasonKey(World world) {
-        int month = getGameMonth(world);
-        for (Map.Entry<String, List<Integer>> entry : seasonMonths.entrySet()) {
-            if (entry.getValue().contains(month)) {
-                return entry.getKey();
-            }
-        }
-        return "unknown";
+    boolean loadGreetingsMuted(Player player) {
+        return isOptedOut(player, greetingsKey);
     }
 
-    public int getGameYear(World world) {
-        long totalDays = world.getFullTime() / 24000L;
-        return (int) (totalDays / (daysPerMonth * 12L)) + startYear;
+    boolean isHudHidden(Player player) {
+        PlayerState state = players.get(player);
+        return state != null && state.hudHidden;
     }
 
-    public String getZodiacAnimal(World world) {
-        int year = getGameYear(world);
-        int index = ((year - startYear) % 12 + 12) % 12 + 1;
-        return getConfig().getString("calendar.zodiac_animals.cycle." + index, "?");
+    boolean loadHudHidden(Player player) {
+        return isOptedOut(player, hudKey);
+    }
+
+    private void setOptedOut(Player player, String feature, boolean off) {
+        boolean greetingsFeature = feature.equals("greetings");
+        PersistentDataContainer data = player.getPersistentDataContainer();
+        NamespacedKey key = greetingsFeature ? greetingsKey : hudKey;
+        if (off) {
+            data.set(key, PersistentDataType.BYTE, (byte) 0);
+        } else {
+            data.remove(key);
+        }
+        PlayerState state = players.get(player);
+        if (state == null) return;
+        if (greetingsFeature) {
+            state.greetingsMuted = off;
+        } else {
+            state.hudHidden = off;
+        }
+    }
+
+    private static boolean isOptedOut(Player player, NamespacedKey key) {
+        Byte value = player.getPersistentDataContainer().get(key, PersistentDataType.BYTE);
+        return value != null && value == 0;
     }
 
     @Override
@@ -293,19 +286,59 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
                 return true;
             }
 
-            reloadConfig();
-            loadConfigValues();
-            loadSeasons();
-            loadGreetings();
-            loadHolidays();
+            reloader.reload(sender);
+            return true;
+        }
 
-            lastDayPhase = "";
-            lastWeather = "";
-            lastSeason = "";
-            lastZodiac = "";
-            lastHolidayDate = "";
+        if (sub.equals("stats")) {
+            if (!sender.hasPermission("jrpindicators.admin")) {
+                sender.sendMessage(colorize(getConfig().getString("messages.no-permission", "")));
+                return true;
+            }
 
-            sender.sendMessage(colorize(getConfig().getString("messages.reload-success", "")));
+            String action = args.length >= 2 ? args[1].toLowerCase() : "";
+            switch (action) {
+                case "reset" -> {
+                    Stats.reset();
+                    sender.sendMessage(colorize(getConfig().getString("messages.stats-reset", "&a[JRPI] Статистика сброшена")));
+                }
+                case "on", "off" -> {
+                    stats.toggle(action.equals("on"));
+                    String path = Stats.enabled ? "messages.stats-on" : "messages.stats-off";
+                    sender.sendMessage(colorize(getConfig().getString(path, Stats.enabled ? "&aВключено" : "&eОтключено")));
+                }
+                default -> {
+                    for (String line : stats.lines()) {
+                        sender.sendMessage(colorize(line));
+                    }
+                }
+            }
+            return true;
+        }
+
+        if (sub.equals("greetings") || sub.equals("hud")) {
+            if (!(sender instanceof Player)) {
+                sender.sendMessage(colorize(getConfig().getString("messages.only-players", "&cКоманда доступна только игрокам!")));
+                return true;
+            }
+            if (!sender.hasPermission("jrpindicators." + sub)) {
+                sender.sendMessage(colorize(getConfig().getString("messages.no-permission", "")));
+                return true;
+            }
+
+            Player player = (Player) sender;
+            boolean off;
+            if (args.length >= 2 && args[1].equalsIgnoreCase("on")) {
+                off = false;
+            } else if (args.length >= 2 && args[1].equalsIgnoreCase("off")) {
+                off = true;
+            } else {
+                off = !(sub.equals("greetings") ? isGreetingMuted(player) : isHudHidden(player));
+            }
+            setOptedOut(player, sub, off);
+
+            String path = "messages." + sub + (off ? "-off" : "-on");
+            sender.sendMessage(colorize(getConfig().getString(path, off ? "&eОтключено" : "&aВключено")));
             return true;
         }
 
@@ -318,16 +351,20 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
             String type = args[1].toLowerCase();
             String valueStr = args[2];
 
-            World world = getMainWorld();
+            World world = sender instanceof Player ? ((Player) sender).getWorld() : getMainWorld();
             if (world == null) {
                 sender.sendMessage(colorize("&cМир не найден!"));
                 return true;
             }
 
-            long totalDays = world.getFullTime() / 24000L;
-            int currentDay = getGameDay(world);
-            int currentMonth = getGameMonth(world);
-            int currentYear = getGameYear(world);
+            WorldCalendarState state = getCalendarState(world);
+            YearTable table = state.config.yearTable;
+            int startYear = state.config.startYear;
+            int currentDay = Math.max(1, state.day);
+            int currentMonth = state.festival == YearTable.NONE
+                    ? state.month
+                    : Math.max(1, state.config.festivals[state.festival].after);
+            int currentYear = state.year - startYear;
 
             long newTotalDays;
 
@@ -340,11 +377,12 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
                         sender.sendMessage(colorize(getConfig().getString("messages.invalid-number", "&cНеверное число!")));
                         return true;
                     }
-                    if (value < 1 || value > daysPerMonth) {
-                        sender.sendMessage(colorize(getConfig().getString("messages.invalid-day", "&cДень должен быть от 1 до %days%").replace("%days%", String.valueOf(daysPerMonth))));
+                    int monthLength = table.monthLength(currentYear, currentMonth);
+                    if (value < 1 || value > monthLength) {
+                        sender.sendMessage(colorize(getConfig().getString("messages.invalid-day", "&cДень должен быть от 1 до %days%").replace("%days%", String.valueOf(monthLength))));
                         return true;
                     }
-                    newTotalDays = (totalDays / daysPerMonth) * daysPerMonth + (value - 1);
+                    newTotalDays = table.totalDays(currentYear, currentMonth, value);
                     sender.sendMessage(colorize(getConfig().getString("messages.set-day-success", "&aДень установлен на &f%value%").replace("%value%", String.valueOf(value))));
                 }
                 case "month" -> {
@@ -359,7 +397,7 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
                         sender.sendMessage(colorize(getConfig().getString("messages.invalid-month", "&cМесяц должен быть от 1 до 12!")));
                         return true;
                     }
-                    newTotalDays = ((currentYear - startYear) * 12L + (value - 1)) * daysPerMonth + (currentDay - 1);
+                    newTotalDays = table.totalDays(currentYear, value, Math.min(currentDay, table.monthLength(currentYear, value)));
                     sender.sendMessage(colorize(getConfig().getString("messages.set-month-success", "&aМесяц установлен на &f%value%").replace("%value%", String.valueOf(value))));
                 }
                 case "year" -> {
@@ -370,7 +408,15 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
                         sender.sendMessage(colorize(getConfig().getString("messages.invalid-number", "&cНеверное число!")));
                         return true;
                     }
-                    newTotalDays = ((value - startYear) * 12L) * daysPerMonth + (currentMonth - 1L) * daysPerMonth + (currentDay - 1);
+                    if (value < startYear) {
+                        sender.sendMessage(colorize(getConfig().getString("messages.invalid-year", "&cГод должен быть не меньше %year%!").replace("%year%", String.valueOf(startYear))));
+                        return true;
+                    }
+                    int year = value - startYear;
+                    long festivalDay = state.festival == YearTable.NONE ? YearTable.NONE : table.festivalDay(year, state.festival);
+                    newTotalDays = festivalDay != YearTable.NONE
+                            ? festivalDay
+                            : table.totalDays(year, currentMonth, Math.min(currentDay, table.monthLength(year, currentMonth)));
                     sender.sendMessage(colorize(getConfig().getString("messages.set-year-success", "&aГод установлен на &f%value%").replace("%value%", String.valueOf(value))));
                 }
                 default -> {
@@ -379,7 +425,8 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
                 }
             }
 
-            world.setFullTime(newTotalDays * 24000L);
+            long fullTime = newTotalDays * 24000L;
+            scheduler.executeGlobal(() -> setFullTime(world, fullTime));
             return true;
         }
 
@@ -394,6 +441,16 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
         if (args.length == 1) {
             completions.add("reload");
             completions.add("set");
+            completions.add("greetings");
+            completions.add("hud");
+            completions.add("stats");
+        } else if (args.length == 2 && (args[0].equalsIgnoreCase("greetings") || args[0].equalsIgnoreCase("hud"))) {
+            completions.add("on");
+            completions.add("off");
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("stats")) {
+            completions.add("reset");
+            completions.add("on");
+            completions.add("off");
         } else if (args.length == 2 && args[0].equalsIgnoreCase("set")) {
             completions.add("day");
             completions.add("month");
@@ -404,74 +461,81 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
     }
 
     public String getDayPhaseFormatted(World world) {
-        return colorize(getConfig().getString("day-type." + getCurrentDayPhaseKey(world), ""));
+        WorldCalendarState state = getCalendarState(world);
+        return state.config.dayPhaseNames[state.dayPhase];
     }
 
     public String getFormattedTime(World world) {
-        long ticks = world.getTime();
-        long adjusted = (ticks + 6000) % 24000;
-        int hours = (int) (adjusted / 1000);
-        int minutes = (int) ((adjusted % 1000) * 60 / 1000);
-        String fmt = getConfig().getString("time-format", "HH:mm");
-        return fmt
-                .replace("HH", String.format("%02d", hours))
-                .replace("H", String.valueOf(hours))
-                .replace("mm", String.format("%02d", minutes))
-                .replace("m", String.valueOf(minutes));
+        return getCalendarState(world).time;
     }
 
     public String getWeatherFormatted(Player player) {
-        return colorize(getWeather(player));
-    }
-
-    private String getWeather(Player player) {
+        PlayerSnapshot snapshot = getSnapshot(player);
+        if (snapshot != null) return snapshot.weatherName;
+        Location location = player.getLocation();
         World world = player.getWorld();
-        if (!world.hasStorm()) return getConfig().getString("weather.sun", "Ясно");
-        if (world.isThundering()) return getConfig().getString("weather.storm", "Гроза");
-        float temp = (float) player.getLocation().getBlock().getTemperature();
-        return temp < 0.15f ? getConfig().getString("weather.snow", "Снег") : getConfig().getString("weather.rain", "Дождь");
+        float temperature = temperatures.temperature(world, location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        return getCalendar(world).weatherNames[CalendarConfig.weather(world, temperature)];
     }
 
     public int getGameDay(World world) {
-        long totalDays = world.getFullTime() / 24000L;
-        return (int) ((totalDays % daysPerMonth) + 1);
+        return getCalendarState(world).day;
     }
 
     public int getGameMonth(World world) {
-        long totalDays = world.getFullTime() / 24000L;
-        return (int) ((totalDays / daysPerMonth) % 12 + 1);
+        return getCalendarState(world).month;
     }
 
     public String getMonthName(int month) {
-        return getConfig().getString("calendar.months." + month, String.valueOf(month));
+        if (month < 1 || month > 12) return String.valueOf(month);
+        return loaded.calendar.rawMonthNames[month];
     }
 
     public int getWeekday(World world) {
-        long totalDays = world.getFullTime() / 24000L;
-        return (int) ((totalDays + 6) % 7 + 1);
+        return getCalendarState(world).weekday;
     }
 
     public String getWeekdayName(int weekday) {
-        return getConfig().getString("calendar.weekdays." + weekday, String.valueOf(weekday));
+        if (weekday < 1 || weekday > 7) return String.valueOf(weekday);
+        return loaded.calendar.rawWeekdayNames[weekday];
     }
 
     public String getSeasonName(World world) {
-        String key = getSeasonKey(world);
-        return seasonNames.getOrDefault(key, "&7Неизвестно");
+        WorldCalendarState state = getCalendarState(world);
+        return state.season == CalendarConfig.UNKNOWN_SEASON
+                ? state.config.rawUnknownSeasonName
+                : state.config.rawSeasonNames[state.season];
     }
 
     public String getDirection(Player player) {
-        float yaw = player.getLocation().getYaw();
-        if (yaw < 0) yaw += 360;
-        int index = Math.round(yaw / 45f) % 8;
-        return getConfig().getString("directions.direction_" + index, "Неизвестно");
+        return loaded.calendar.rawDirections[directionIndex(player)];
     }
 
     public String getShortDirection(Player player) {
-        float yaw = player.getLocation().getYaw();
-        if (yaw < 0) yaw += 360;
-        int index = Math.round(yaw / 45f) % 8;
-        return getConfig().getString("directions.short_" + index, "?");
+        return loaded.calendar.rawShortDirections[directionIndex(player)];
+    }
+
+    private int directionIndex(Player player) {
+        PlayerSnapshot snapshot = getSnapshot(player);
+        return snapshot != null ? snapshot.direction : CalendarConfig.directionIndex(player.getLocation().getYaw());
+    }
+
+    public String getZodiacName(World world) {
+        WorldCalendarState state = getCalendarState(world);
+        return state.config.zodiacNames[state.zodiac];
+    }
+
+    public String getHolidayName(World world) {
+        return getCalendarState(world).holidayName();
+    }
+
+    public @Nullable String renderTemplate(Player player, String name) {
+        LineTemplate template = placeholders.template(name);
+        if (template == null) return null;
+        PlayerSnapshot snapshot = getSnapshot(player);
+        if (snapshot == null) return null;
+        WorldCalendarState state = getPublishedState(snapshot.world);
+        return state == null ? null : template.render(snapshot, state);
     }
 
     public static String colorize(String msg) {
@@ -511,33 +575,38 @@ public class JRPIndicators extends JavaPlugin implements CommandExecutor, TabCom
         public @Nullable String onPlaceholderRequest(Player player, @NotNull String params) {
             if (player == null) return null;
 
-            World world = player.getWorld();
-
-            return switch (params.toLowerCase()) {
-                case "day" -> String.valueOf(plugin.getGameDay(world));
-                case "day_type" -> plugin.getDayPhaseFormatted(world);
-                case "time" -> plugin.getFormattedTime(world);
-                case "weather" -> plugin.getWeatherFormatted(player);
-                case "month" -> String.valueOf(plugin.getGameMonth(world));
-                case "month_name" -> plugin.getMonthName(plugin.getGameMonth(world));
-                case "weekday" -> String.valueOf(plugin.getWeekday(world));
-                case "weekday_name" -> plugin.getWeekdayName(plugin.getWeekday(world));
-                case "season" -> colorize(plugin.getSeasonName(world));
-                case "direction" -> colorize(plugin.getDirection(player));
-                case "direction_short" -> colorize(plugin.getShortDirection(player));
-                case "year" -> String.valueOf(plugin.getGameYear(world));
-                case "zodiac" -> colorize(plugin.getZodiacAnimal(world));
-                case "holiday_name" -> {
-                    String key = plugin.getGameMonth(world) + "-" + plugin.getGameDay(world);
-                    yield holidayNames.getOrDefault(key, "");
-                }
-                default -> null;
-            };
+            long start = Stats.start();
+            PlaceholderResolver resolver = placeholders.find(params);
+            String value = resolve(player, resolver);
+            Stats.placeholder(params, resolver != null, start);
+            return value;
+        }
+
+        private @Nullable String resolve(Player player, @Nullable PlaceholderResolver resolver) {
+            if (resolver == null) return null;
+
+            PlayerSnapshot snapshot = plugin.getSnapshot(player);
+            if (snapshot == null) return "";
+            WorldCalendarState state = plugin.getPublishedState(snapshot.world);
+            if (state == null) return "";
+
+            return resolver.resolve(snapshot, state);
         }
     }
 
     @Override
     public void onDisable() {
+        watcher.stop();
+        greetings.stop();
+        stats.stop();
+        if (hud != null) {
+            hud.stop();
+        }
+        if (transitions != null) {
+            transitions.stop();
+        }
+        journal.close();
+        sync.stop();
         if (placeholderExpansion != null) {
             placeholderExpansion.unregister();
         }
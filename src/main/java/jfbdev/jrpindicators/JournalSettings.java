@@ -0,0 +1,14 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+final class JournalSettings {
+
+    final boolean enabled;
+    final int compactAfter;
+
+    JournalSettings(ConfigurationSection config) {
+        enabled = config.getBoolean("journal.enabled", true);
+        compactAfter = Math.max(0, config.getInt("journal.compact-after", 10000));
+    }
+}
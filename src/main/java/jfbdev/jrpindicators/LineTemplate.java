@@ -0,0 +1,163 @@
+package jfbdev.jrpindicators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class LineTemplate {
+
+    private static final String PREFIX = "%jrpi_";
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private final String[] literals;
+    private final PlaceholderResolver[] resolvers;
+    private final CalendarFormat[] formats;
+    private final int[] fields;
+    final int usedFields;
+    private volatile Rendered last;
+
+    private LineTemplate(List<String> literals, List<PlaceholderResolver> resolvers, List<CalendarFormat> formats,
+                         List<Integer> fields) {
+        this.literals = literals.toArray(new String[0]);
+        this.resolvers = resolvers.toArray(new PlaceholderResolver[0]);
+        this.formats = formats.toArray(new CalendarFormat[0]);
+        this.fields = new int[this.resolvers.length];
+        int used = 0;
+        for (int i = 0; i < this.fields.length; i++) {
+            this.fields[i] = fields.get(i);
+            used |= this.fields[i];
+        }
+        this.usedFields = used;
+    }
+
+    static LineTemplate compile(String pattern, PlaceholderTable table) {
+        return compile(pattern, table, true);
+    }
+
+    static LineTemplate compile(String pattern, PlaceholderTable table, boolean allowTemplates) {
+        List<String> literals = new ArrayList<>();
+        List<PlaceholderResolver> resolvers = new ArrayList<>();
+        List<CalendarFormat> formats = new ArrayList<>();
+        List<Integer> fields = new ArrayList<>();
+        String text = JRPIndicators.colorize(pattern);
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            int start = text.indexOf(PREFIX, i);
+            int end = start < 0 ? -1 : text.indexOf('%', start + PREFIX.length());
+            if (end < 0) {
+                literal.append(text, i, text.length());
+                break;
+            }
+            String params = text.substring(start + PREFIX.length(), end);
+            PlaceholderResolver resolver = allowTemplates || !table.isTemplate(params) ? table.find(params) : null;
+            literal.append(text, i, start);
+            if (resolver == null) {
+                literal.append(text, start, end);
+                i = end;
+                continue;
+            }
+            if (literal.length() > 0) {
+                literals.add(literal.toString());
+                resolvers.add(null);
+                formats.add(null);
+                fields.add(0);
+                literal.setLength(0);
+            }
+            literals.add(null);
+            resolvers.add(resolver);
+            formats.add(table.dateFormat(params));
+            fields.add(table.fields(params));
+            i = end + 1;
+        }
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            resolvers.add(null);
+            formats.add(null);
+            fields.add(0);
+        }
+        return new LineTemplate(literals, resolvers, formats, fields);
+    }
+
+    String render(PlayerSnapshot player, WorldCalendarState state) {
+        Rendered last = this.last;
+        if (last != null && (PlaceholderTable.changedFields(last.state, last.player, state, player) & usedFields) == 0) {
+            return last.line;
+        }
+        StringBuilder out = BUFFER.get();
+        int start = out.length();
+        for (int i = 0; i < resolvers.length; i++) {
+            if (resolvers[i] == null) {
+                out.append(literals[i]);
+            } else if (formats[i] != null) {
+                state.appendTo(out, formats[i]);
+            } else {
+                out.append(resolvers[i].resolve(player, state));
+            }
+        }
+        String line = out.substring(start);
+        out.setLength(start);
+        this.last = new Rendered(state, player, line);
+        return line;
+    }
+
+    String render(Cache cache, PlayerSnapshot player, WorldCalendarState state) {
+        int changed = cache.template != this
+                ? PlaceholderTable.ALL
+                : PlaceholderTable.changedFields(cache.state, cache.player, state, player);
+        cache.state = state;
+        cache.player = player;
+        if (cache.template == this && (changed & usedFields) == 0) {
+            Stats.HUD_LINE_CACHE.hit();
+            return cache.line;
+        }
+        Stats.HUD_LINE_CACHE.miss();
+
+        if (cache.template != this) {
+            cache.template = this;
+            cache.values = new String[resolvers.length];
+            cache.line = null;
+        }
+        boolean dirty = cache.line == null;
+        for (int i = 0; i < resolvers.length; i++) {
+            if (resolvers[i] == null) {
+                cache.values[i] = literals[i];
+            } else if ((fields[i] & changed) != 0) {
+                String value = resolvers[i].resolve(player, state);
+                if (!value.equals(cache.values[i])) {
+                    cache.values[i] = value;
+                    dirty = true;
+                }
+            }
+        }
+        if (dirty) {
+            StringBuilder out = new StringBuilder(64);
+            for (String value : cache.values) {
+                out.append(value);
+            }
+            cache.line = out.toString();
+        }
+        return cache.line;
+    }
+
+    static final class Cache {
+
+        private LineTemplate template;
+        private WorldCalendarState state;
+        private PlayerSnapshot player;
+        private String[] values;
+        private String line;
+    }
+
+    private static final class Rendered {
+
+        final WorldCalendarState state;
+        final PlayerSnapshot player;
+        final String line;
+
+        Rendered(WorldCalendarState state, PlayerSnapshot player, String line) {
+            this.state = state;
+            this.player = player;
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Map;
+
+final class LoadedConfig {
+
+    final FileConfiguration file;
+    final Map<String, ConfigurationSection> languages;
+    final CalendarConfig calendar;
+    final Map<String, LineTemplate> templates;
+    final HudSettings hud;
+    final StatsSettings stats;
+    final AutoReloadSettings autoReload;
+    final JournalSettings journal;
+    final SyncSettings sync;
+
+    LoadedConfig(FileConfiguration file, Map<String, ConfigurationSection> languages, CalendarConfig calendar,
+                 Map<String, LineTemplate> templates, HudSettings hud, StatsSettings stats,
+                 AutoReloadSettings autoReload, JournalSettings journal, SyncSettings sync) {
+        this.file = file;
+        this.languages = languages;
+        this.calendar = calendar;
+        this.templates = templates;
+        this.hud = hud;
+        this.stats = stats;
+        this.autoReload = autoReload;
+        this.journal = journal;
+        this.sync = sync;
+    }
+
+    LoadedConfig withCalendar(CalendarConfig calendar) {
+        return new LoadedConfig(file, languages, calendar, templates, hud, stats, autoReload, journal, sync);
+    }
+}
@@ -0,0 +1,97 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+final class LocaleNames {
+
+    static final int DEFAULT_LOCALE = 0;
+
+    static final int MONTH = 0;
+    static final int WEEKDAY = MONTH + 13;
+    static final int DIRECTION = WEEKDAY + 8;
+    static final int SHORT_DIRECTION = DIRECTION + 8;
+    static final int DAY_PHASE = SHORT_DIRECTION + 8;
+    static final int WEATHER = DAY_PHASE + CalendarConfig.DAY_PHASES.length;
+    static final int SEASON = WEATHER + CalendarConfig.WEATHER_KEYS.length;
+
+    private final String[][] values;
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    LocaleNames(CalendarConfig config, Map<String, ? extends ConfigurationSection> languages) {
+        String[] paths = new String[SEASON + 1 + config.seasonKeys.length];
+        String[] defaults = new String[paths.length];
+        defaults[MONTH] = "";
+        for (int month = 1; month <= 12; month++) {
+            paths[MONTH + month] = "calendar.months." + month;
+            defaults[MONTH + month] = config.monthNames[month];
+        }
+        defaults[WEEKDAY] = "";
+        for (int weekday = 1; weekday <= 7; weekday++) {
+            paths[WEEKDAY + weekday] = "calendar.weekdays." + weekday;
+            defaults[WEEKDAY + weekday] = config.weekdayNames[weekday];
+        }
+        for (int index = 0; index < 8; index++) {
+            paths[DIRECTION + index] = "directions.direction_" + index;
+            defaults[DIRECTION + index] = config.directions[index];
+            paths[SHORT_DIRECTION + index] = "directions.short_" + index;
+            defaults[SHORT_DIRECTION + index] = config.shortDirections[index];
+        }
+        for (int phase = 0; phase < CalendarConfig.DAY_PHASES.length; phase++) {
+            paths[DAY_PHASE + phase] = "day-type." + CalendarConfig.DAY_PHASES[phase];
+            defaults[DAY_PHASE + phase] = config.dayPhaseNames[phase];
+        }
+        for (int weather = 0; weather < CalendarConfig.WEATHER_KEYS.length; weather++) {
+            paths[WEATHER + weather] = "weather." + CalendarConfig.WEATHER_KEYS[weather];
+            defaults[WEATHER + weather] = config.weatherNames[weather];
+        }
+        paths[season(CalendarConfig.UNKNOWN_SEASON)] = "season-unknown";
+        defaults[season(CalendarConfig.UNKNOWN_SEASON)] = config.unknownSeasonName;
+        for (int season = 0; season < config.seasonKeys.length; season++) {
+            paths[season(season)] = "seasons." + config.seasonKeys[season] + ".name";
+            defaults[season(season)] = config.seasonNames[season];
+        }
+
+        values = new String[languages.size() + 1][];
+        values[DEFAULT_LOCALE] = defaults;
+        int locale = DEFAULT_LOCALE + 1;
+        for (Map.Entry<String, ? extends ConfigurationSection> language : languages.entrySet()) {
+            ConfigurationSection section = language.getValue();
+            String[] row = new String[paths.length];
+            for (int value = 0; value < row.length; value++) {
+                String text = paths[value] == null ? null : section.getString(paths[value], null);
+                row[value] = text == null ? defaults[value] : JRPIndicators.colorize(text);
+            }
+            values[locale] = row;
+
+            String name = language.getKey().toLowerCase(Locale.ROOT);
+            ids.put(name, locale);
+            int separator = name.indexOf('_');
+            if (separator > 0) ids.putIfAbsent(name.substring(0, separator), locale);
+            locale++;
+        }
+    }
+
+    static int season(int season) {
+        return SEASON + 1 + season;
+    }
+
+    int id(@Nullable String locale) {
+        if (locale == null || ids.isEmpty()) return DEFAULT_LOCALE;
+        String name = locale.toLowerCase(Locale.ROOT);
+        Integer id = ids.get(name);
+        if (id == null) {
+            int separator = name.indexOf('_');
+            if (separator > 0) id = ids.get(name.substring(0, separator));
+        }
+        return id == null ? DEFAULT_LOCALE : id;
+    }
+
+    String get(int locale, int value) {
+        return (locale < values.length ? values[locale] : values[DEFAULT_LOCALE])[value];
+    }
+}
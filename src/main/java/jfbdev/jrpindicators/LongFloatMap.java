@@ -0,0 +1,96 @@
+package jfbdev.jrpindicators;
+
+import java.util.Arrays;
+
+final class LongFloatMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private float[] values;
+    private int mask;
+    private int size;
+
+    LongFloatMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    float get(long key, float missing) {
+        int slot = slot(key);
+        while (true) {
+            long current = keys[slot];
+            if (current == EMPTY) return missing;
+            if (current == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void put(long key, float value) {
+        int slot = slot(key);
+        while (true) {
+            long current = keys[slot];
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 2 > keys.length) rehash(keys.length << 1);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    void remove(long key) {
+        int slot = slot(key);
+        while (true) {
+            long current = keys[slot];
+            if (current == EMPTY) return;
+            if (current == key) break;
+            slot = (slot + 1) & mask;
+        }
+        size--;
+
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
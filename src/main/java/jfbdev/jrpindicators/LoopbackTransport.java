@@ -0,0 +1,32 @@
+package jfbdev.jrpindicators;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+final class LoopbackTransport implements SyncTransport {
+
+    private static final List<LoopbackTransport> PEERS = new CopyOnWriteArrayList<>();
+
+    private volatile Consumer<byte[]> receiver;
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        PEERS.add(this);
+    }
+
+    @Override
+    public void send(byte[] message) {
+        for (LoopbackTransport peer : PEERS) {
+            Consumer<byte[]> receiver = peer.receiver;
+            if (peer != this && receiver != null) receiver.accept(message.clone());
+        }
+    }
+
+    @Override
+    public void stop() {
+        PEERS.remove(this);
+        receiver = null;
+    }
+}
@@ -0,0 +1,19 @@
+package jfbdev.jrpindicators;
+
+final class NumberText {
+
+    private static final String[] TABLE = new String[4096];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            TABLE[i] = String.valueOf(i).intern();
+        }
+    }
+
+    private NumberText() {
+    }
+
+    static String of(int value) {
+        return value >= 0 && value < TABLE.length ? TABLE[value] : String.valueOf(value);
+    }
+}
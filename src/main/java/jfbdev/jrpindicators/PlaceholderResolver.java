@@ -0,0 +1,7 @@
+package jfbdev.jrpindicators;
+
+@FunctionalInterface
+interface PlaceholderResolver {
+
+    String resolve(PlayerSnapshot player, WorldCalendarState state);
+}
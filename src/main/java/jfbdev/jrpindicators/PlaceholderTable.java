@@ -0,0 +1,222 @@
+package jfbdev.jrpindicators;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+final class PlaceholderTable {
+
+    private static final int MAX_CACHED_PARAMS = 512;
+    private static final String DATE_PREFIX = "date_";
+    private static final String LINE_PREFIX = "line_";
+    private static final PlaceholderResolver UNKNOWN = (player, state) -> null;
+
+    static final int CLOCK = 1;
+    static final int PHASE = 1 << 1;
+    static final int DATE = 1 << 2;
+    static final int WEATHER = 1 << 3;
+    static final int DIRECTION = 1 << 4;
+    static final int TIME = 1 << 5;
+    static final int ALL = -1;
+
+    private final Map<String, PlaceholderResolver> resolvers = new HashMap<>();
+    private final Map<String, Integer> fields = new HashMap<>();
+    private final Supplier<Map<String, LineTemplate>> templates;
+    private volatile ResolverCache cache = new ResolverCache(Map.of());
+
+    PlaceholderTable(Supplier<Map<String, LineTemplate>> templates) {
+        this.templates = templates;
+        register("day", DATE, (player, state) -> NumberText.of(state.day));
+        register("day_type", PHASE, (player, state) -> state.config.locales.get(player.locale, LocaleNames.DAY_PHASE + state.dayPhase));
+        register("time", TIME, (player, state) -> state.time);
+        register("weather", WEATHER, (player, state) -> player.weatherName);
+        register("month", DATE, (player, state) -> NumberText.of(state.month));
+        register("month_name", DATE, (player, state) -> state.monthName(player.locale));
+        register("weekday", DATE, (player, state) -> NumberText.of(state.weekday));
+        register("weekday_name", DATE, (player, state) -> state.config.locales.get(player.locale, LocaleNames.WEEKDAY + state.weekday));
+        register("season", DATE, (player, state) -> state.seasonName(player.locale));
+        register("direction", DIRECTION, (player, state) -> player.directionName);
+        register("direction_short", DIRECTION, (player, state) -> player.shortDirectionName);
+        register("year", DATE, (player, state) -> state.yearText);
+        register("zodiac", DATE, (player, state) -> state.config.zodiacNames[state.zodiac]);
+        register("holiday_name", DATE, (player, state) -> state.holidayName());
+        register("next_holiday", DATE, (player, state) -> state.nextHolidayName());
+        register("days_to_holiday", DATE, (player, state) -> daysText(state.daysUntilHoliday()));
+        register("next_season", DATE, (player, state) -> state.nextSeasonName(player.locale));
+        register("days_to_season", DATE, (player, state) -> daysText(state.daysUntilSeasonChange()));
+    }
+
+    private static String daysText(int days) {
+        return days == YearTable.NONE ? "" : NumberText.of(days);
+    }
+
+    private void register(String key, int fields, PlaceholderResolver resolver) {
+        resolvers.put(key, resolver);
+        this.fields.put(key, fields);
+    }
+
+    static int changedFields(@Nullable WorldCalendarState before, @Nullable PlayerSnapshot beforePlayer,
+                             WorldCalendarState after, PlayerSnapshot afterPlayer) {
+        if (before == null || beforePlayer == null || before.config != after.config
+                || beforePlayer.locale != afterPlayer.locale) {
+            return ALL;
+        }
+        int changed = 0;
+        if (before.minuteOfDay != after.minuteOfDay) changed |= CLOCK;
+        if (before.dayPhase != after.dayPhase) changed |= PHASE;
+        if (before.totalDays != after.totalDays) changed |= DATE;
+        if (beforePlayer.weather != afterPlayer.weather) changed |= WEATHER;
+        if (beforePlayer.direction != afterPlayer.direction) changed |= DIRECTION;
+        if ((changed & formatFields(after.config.timeFormat)) != 0) changed |= TIME;
+        return changed;
+    }
+
+    static int formatFields(CalendarFormat format) {
+        return (format.usesClock ? CLOCK : 0) | (format.usesDate ? DATE : 0);
+    }
+
+    int fields(String params) {
+        CalendarFormat format = dateFormat(params);
+        if (format != null) return formatFields(format);
+        if (params.regionMatches(true, 0, LINE_PREFIX, 0, LINE_PREFIX.length())) {
+            LineTemplate template = template(params.substring(LINE_PREFIX.length()));
+            return template == null ? 0 : template.usedFields;
+        }
+        return fields.getOrDefault(params.toLowerCase(Locale.ROOT), 0);
+    }
+
+    @Nullable CalendarFormat dateFormat(String params) {
+        if (!params.regionMatches(true, 0, DATE_PREFIX, 0, DATE_PREFIX.length())) return null;
+        return CalendarFormat.compile(params.substring(DATE_PREFIX.length()));
+    }
+
+    @Nullable LineTemplate template(String name) {
+        return templates.get().get(name.toLowerCase(Locale.ROOT));
+    }
+
+    boolean isTemplate(String params) {
+        return params.regionMatches(true, 0, LINE_PREFIX, 0, LINE_PREFIX.length());
+    }
+
+    Map<String, LineTemplate> compileTemplates(Map<String, String> patterns) {
+        Map<String, LineTemplate> compiled = new HashMap<>();
+        for (Map.Entry<String, String> entry : patterns.entrySet()) {
+            compiled.put(entry.getKey(), LineTemplate.compile(entry.getValue(), this, false));
+        }
+        return Map.copyOf(compiled);
+    }
+
+    @Nullable PlaceholderResolver find(String params) {
+        Map<String, LineTemplate> templates = this.templates.get();
+        ResolverCache cache = this.cache;
+        if (cache.templates != templates) {
+            cache = new ResolverCache(templates);
+            this.cache = cache;
+        }
+        PlaceholderResolver resolver;
+        CachedResolver cached = cache.resolvers.get(params);
+        if (cached != null) {
+            Stats.PARAMS_CACHE.hit();
+            if (!cached.used) cached.used = true;
+            resolver = cached.resolver;
+        } else {
+            Stats.PARAMS_CACHE.miss();
+            resolver = resolve(params);
+            cache.put(params, resolver);
+        }
+        return resolver == UNKNOWN ? null : resolver;
+    }
+
+    private PlaceholderResolver resolve(String params) {
+        if (params.regionMatches(true, 0, DATE_PREFIX, 0, DATE_PREFIX.length())) {
+            return new DateResolver(CalendarFormat.compile(params.substring(DATE_PREFIX.length())));
+        }
+        if (isTemplate(params)) {
+            String name = params.substring(LINE_PREFIX.length());
+            if (template(name) == null) return UNKNOWN;
+            return (player, state) -> {
+                LineTemplate template = template(name);
+                return template == null ? "" : template.render(player, state);
+            };
+        }
+        return resolvers.getOrDefault(params.toLowerCase(Locale.ROOT), UNKNOWN);
+    }
+
+    private static final class ResolverCache {
+
+        final Map<String, LineTemplate> templates;
+        final Map<String, CachedResolver> resolvers = new ConcurrentHashMap<>();
+
+        ResolverCache(Map<String, LineTemplate> templates) {
+            this.templates = templates;
+        }
+
+        void put(String params, PlaceholderResolver resolver) {
+            if (resolvers.size() >= MAX_CACHED_PARAMS) evict();
+            resolvers.put(params, new CachedResolver(resolver));
+        }
+
+        private void evict() {
+            String victim = null;
+            for (Map.Entry<String, CachedResolver> entry : resolvers.entrySet()) {
+                if (victim == null) victim = entry.getKey();
+                if (!entry.getValue().used) {
+                    victim = entry.getKey();
+                    break;
+                }
+                entry.getValue().used = false;
+            }
+            if (victim != null) resolvers.remove(victim);
+        }
+    }
+
+    private static final class CachedResolver {
+
+        final PlaceholderResolver resolver;
+        volatile boolean used = true;
+
+        CachedResolver(PlaceholderResolver resolver) {
+            this.resolver = resolver;
+        }
+    }
+
+    private static final class DateResolver implements PlaceholderResolver {
+
+        private final CalendarFormat format;
+        private volatile Rendered last;
+
+        DateResolver(CalendarFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public String resolve(PlayerSnapshot player, WorldCalendarState state) {
+            Rendered last = this.last;
+            if (last == null || last.config != state.config || last.totalDays != state.totalDays
+                    || last.minuteOfDay != state.minuteOfDay) {
+                last = new Rendered(state, state.format(format));
+                this.last = last;
+            }
+            return last.value;
+        }
+    }
+
+    private static final class Rendered {
+
+        final CalendarConfig config;
+        final long totalDays;
+        final int minuteOfDay;
+        final String value;
+
+        Rendered(WorldCalendarState state, String value) {
+            this.config = state.config;
+            this.totalDays = state.totalDays;
+            this.minuteOfDay = state.minuteOfDay;
+            this.value = value;
+        }
+    }
+}
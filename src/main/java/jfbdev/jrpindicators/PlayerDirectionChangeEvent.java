@@ -0,0 +1,49 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+public class PlayerDirectionChangeEvent extends PlayerEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final int from;
+    private final int to;
+    private final String direction;
+    private final String shortDirection;
+
+    PlayerDirectionChangeEvent(Player player, int from, int to, String direction, String shortDirection) {
+        super(player);
+        this.from = from;
+        this.to = to;
+        this.direction = direction;
+        this.shortDirection = shortDirection;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public String getShortDirection() {
+        return shortDirection;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
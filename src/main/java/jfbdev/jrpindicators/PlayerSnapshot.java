@@ -0,0 +1,33 @@
+package jfbdev.jrpindicators;
+
+import java.util.UUID;
+
+final class PlayerSnapshot {
+
+    final UUID world;
+    final int weather;
+    final int direction;
+    final int locale;
+    final String weatherName;
+    final String directionName;
+    final String shortDirectionName;
+
+    private PlayerSnapshot(CalendarConfig config, UUID world, int weather, int direction, int locale) {
+        this.world = world;
+        this.weather = weather;
+        this.direction = direction;
+        this.locale = locale;
+        this.weatherName = config.locales.get(locale, LocaleNames.WEATHER + weather);
+        this.directionName = config.locales.get(locale, LocaleNames.DIRECTION + direction);
+        this.shortDirectionName = config.locales.get(locale, LocaleNames.SHORT_DIRECTION + direction);
+    }
+
+    static PlayerSnapshot of(CalendarConfig config, UUID world, int weather, int direction, int locale) {
+        return new PlayerSnapshot(config, world, weather, direction, locale);
+    }
+
+    boolean matches(UUID world, int weather, int direction, int locale) {
+        return this.world.equals(world) && this.weather == weather && this.direction == direction
+                && this.locale == locale;
+    }
+}
@@ -0,0 +1,28 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+final class PlayerState {
+
+    final Player player;
+    final int entityId;
+    volatile PlayerSnapshot snapshot;
+    volatile boolean greetingsMuted;
+    boolean hudHidden;
+    HudView hud;
+
+    World world;
+    int blockX;
+    int blockY;
+    int blockZ;
+    long section;
+    float temperature = TemperatureCache.UNKNOWN;
+    int direction = -1;
+    int locale = LocaleNames.DEFAULT_LOCALE;
+
+    PlayerState(Player player) {
+        this.player = player;
+        this.entityId = player.getEntityId();
+    }
+}
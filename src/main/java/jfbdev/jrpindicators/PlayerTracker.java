@@ -0,0 +1,203 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.*;
+import org.bukkit.event.weather.ThunderChangeEvent;
+import org.bukkit.event.weather.WeatherChangeEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+final class PlayerTracker implements Listener {
+
+    private final JRPIndicators plugin;
+    private final TemperatureCache temperatures;
+    private final IntMap<PlayerState> states = new IntMap<>();
+    private volatile Consumer<PlayerState> trackListener;
+
+    PlayerTracker(JRPIndicators plugin, TemperatureCache temperatures) {
+        this.plugin = plugin;
+        this.temperatures = temperatures;
+    }
+
+    void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            plugin.getTaskScheduler().execute(player, () -> track(player));
+        }
+    }
+
+    void onTrack(Consumer<PlayerState> listener) {
+        trackListener = listener;
+    }
+
+    @Nullable PlayerState get(Player player) {
+        return states.get(player.getEntityId());
+    }
+
+    PlayerState track(Player player) {
+        PlayerState state = new PlayerState(player);
+        state.greetingsMuted = plugin.loadGreetingsMuted(player);
+        state.hudHidden = plugin.loadHudHidden(player);
+        state.locale = plugin.getCalendar().locales.id(player.getLocale());
+        states.put(state.entityId, state);
+        update(state, player.getLocation(), true);
+        Consumer<PlayerState> listener = trackListener;
+        if (listener != null) listener.accept(state);
+        return state;
+    }
+
+    void forEach(Consumer<PlayerState> action) {
+        states.forEach(action);
+    }
+
+    void refreshAll() {
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        states.forEach(state -> scheduler.execute(state.player, () -> {
+            state.locale = plugin.getCalendar().locales.id(state.player.getLocale());
+            state.snapshot = null;
+            publish(state);
+        }));
+    }
+
+    private void refreshWorld(World world) {
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        states.forEach(state -> {
+            if (state.world == world) scheduler.execute(state.player, () -> publish(state));
+        });
+    }
+
+    private void update(PlayerState state, Location to, boolean force) {
+        int previous = state.direction;
+        if (!move(state, to, temperatures, force)) return;
+        PlayerSnapshot snapshot = publish(state);
+
+        if (state.direction != previous && previous >= 0
+                && PlayerDirectionChangeEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            Bukkit.getPluginManager().callEvent(new PlayerDirectionChangeEvent(state.player, previous, state.direction,
+                    snapshot.directionName, snapshot.shortDirectionName));
+        }
+    }
+
+    static boolean move(PlayerState state, Location to, TemperatureCache temperatures, boolean force) {
+        World world = to.getWorld();
+        int x = to.getBlockX();
+        int y = to.getBlockY();
+        int z = to.getBlockZ();
+        int direction = CalendarConfig.directionIndex(to.getYaw());
+
+        boolean moved = force || world != state.world || x != state.blockX || y != state.blockY || z != state.blockZ;
+        boolean turned = direction != state.direction;
+        if (!moved && !turned) return false;
+
+        if (moved) {
+            long section = TemperatureCache.sectionKey(x >> 4, z >> 4, y >> 4);
+            if (force || world != state.world || section != state.section || Float.isNaN(state.temperature)) {
+                state.section = section;
+                state.temperature = temperatures.temperature(world, x, y, z);
+            }
+            state.world = world;
+            state.blockX = x;
+            state.blockY = y;
+            state.blockZ = z;
+        }
+        state.direction = direction;
+        return true;
+    }
+
+    private PlayerSnapshot publish(PlayerState state) {
+        return publish(state, plugin.getCalendar(state.world));
+    }
+
+    static PlayerSnapshot publish(PlayerState state, CalendarConfig config) {
+        World world = state.world;
+        int weather = CalendarConfig.weather(world, state.temperature);
+        PlayerSnapshot snapshot = state.snapshot;
+        if (snapshot == null || !snapshot.matches(world.getUID(), weather, state.direction, state.locale)) {
+            snapshot = PlayerSnapshot.of(config, world.getUID(), weather, state.direction, state.locale);
+            state.snapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        track(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        forget(player);
+        plugin.getTaskScheduler().runGlobal(() -> forget(player));
+    }
+
+    private void forget(Player player) {
+        PlayerState state = get(player);
+        if (state == null) return;
+        if (state.hud != null) state.hud.close();
+        states.remove(state.entityId);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        PlayerState state = get(event.getPlayer());
+        Location to = event.getTo();
+        if (state != null && to != null) update(state, to, false);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        PlayerState state = get(event.getPlayer());
+        Location to = event.getTo();
+        if (state != null && to != null) update(state, to, false);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        PlayerState state = get(event.getPlayer());
+        if (state != null) update(state, event.getPlayer().getLocation(), true);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent event) {
+        PlayerState state = get(event.getPlayer());
+        if (state == null) return;
+        int locale = plugin.getCalendar().locales.id(event.getLocale());
+        if (locale == state.locale) return;
+        state.locale = locale;
+        publish(state);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        Player player = event.getPlayer();
+        plugin.getTaskScheduler().run(player, () -> {
+            if (!player.isOnline()) return;
+            PlayerState state = get(player);
+            if (state == null) {
+                track(player);
+            } else {
+                update(state, player.getLocation(), true);
+            }
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWeatherChange(WeatherChangeEvent event) {
+        World world = event.getWorld();
+        plugin.getTaskScheduler().runGlobal(() -> refreshWorld(world));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onThunderChange(ThunderChangeEvent event) {
+        World world = event.getWorld();
+        plugin.getTaskScheduler().runGlobal(() -> refreshWorld(world));
+    }
+}
@@ -0,0 +1,20 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+final class SnapshotPublisher implements Runnable {
+
+    private final JRPIndicators plugin;
+
+    SnapshotPublisher(JRPIndicators plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        for (World world : Bukkit.getWorlds()) {
+            plugin.getCalendarState(world);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package jfbdev.jrpindicators;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+final class Stats {
+
+    private static final int MAX_PLACEHOLDER_KEYS = 256;
+    private static final String OTHER_KEY = "other";
+
+    static volatile boolean enabled;
+    static volatile long since = System.currentTimeMillis();
+
+    static final Timer PLACEHOLDER = new Timer("placeholder");
+    static final Timer CHECK_ALL = new Timer("check_all");
+    static final Timer CHECK_DAY_PHASE = new Timer("check_day_phase");
+    static final Timer CHECK_WEATHER = new Timer("check_weather");
+    static final Timer CHECK_SEASON = new Timer("check_season");
+    static final Timer CHECK_ZODIAC = new Timer("check_zodiac");
+    static final Timer CHECK_HOLIDAY = new Timer("check_holiday");
+    static final Timer HUD = new Timer("hud");
+    static final List<Timer> TIMERS = List.of(PLACEHOLDER, CHECK_ALL, CHECK_DAY_PHASE, CHECK_WEATHER,
+            CHECK_SEASON, CHECK_ZODIAC, CHECK_HOLIDAY, HUD);
+
+    static final Counter BROADCASTS = new Counter("broadcasts");
+    static final Counter RECIPIENTS = new Counter("recipients");
+    static final Counter BATCHED_DELIVERIES = new Counter("batched_deliveries");
+    static final Counter HUD_UPDATES = new Counter("hud_updates");
+    static final List<Counter> COUNTERS = List.of(BROADCASTS, RECIPIENTS, BATCHED_DELIVERIES, HUD_UPDATES);
+
+    static final Ratio PARAMS_CACHE = new Ratio("params_cache");
+    static final Ratio FORMAT_CACHE = new Ratio("format_cache");
+    static final Ratio STATE_CACHE = new Ratio("state_cache");
+    static final Ratio TEMPERATURE_CACHE = new Ratio("temperature_cache");
+    static final Ratio HUD_LINE_CACHE = new Ratio("hud_line_cache");
+    static final List<Ratio> RATIOS = List.of(PARAMS_CACHE, FORMAT_CACHE, STATE_CACHE, TEMPERATURE_CACHE,
+            HUD_LINE_CACHE);
+
+    private static final Map<String, LongAdder> PLACEHOLDER_CALLS = new ConcurrentHashMap<>();
+
+    private Stats() {
+    }
+
+    static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    static void placeholder(String params, boolean known, long start) {
+        if (start == 0L) return;
+        PLACEHOLDER.record(start);
+        String key;
+        if (!known) {
+            key = "unknown";
+        } else if (params.regionMatches(true, 0, "date_", 0, 5)) {
+            key = "date_*";
+        } else {
+            key = params.toLowerCase(Locale.ROOT);
+        }
+        LongAdder calls = PLACEHOLDER_CALLS.get(key);
+        if (calls == null) {
+            if (PLACEHOLDER_CALLS.size() >= MAX_PLACEHOLDER_KEYS) key = OTHER_KEY;
+            calls = PLACEHOLDER_CALLS.computeIfAbsent(key, k -> new LongAdder());
+        }
+        calls.increment();
+    }
+
+    static Map<String, LongAdder> placeholderCalls() {
+        return PLACEHOLDER_CALLS;
+    }
+
+    static void reset() {
+        TIMERS.forEach(Timer::reset);
+        COUNTERS.forEach(Counter::reset);
+        RATIOS.forEach(Ratio::reset);
+        PLACEHOLDER_CALLS.clear();
+        since = System.currentTimeMillis();
+    }
+
+    static final class Timer {
+
+        private static final int BUCKETS = 64;
+
+        final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        private Timer(String name) {
+            this.name = name;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long start) {
+            if (start == 0L) return;
+            long nanos = Math.max(0L, System.nanoTime() - start);
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+            buckets[nanos == 0L ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos)].increment();
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long totalNanos() {
+            return total.sum();
+        }
+
+        long maxNanos() {
+            return max.get();
+        }
+
+        long percentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long all = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                all += counts[i];
+            }
+            if (all == 0) return 0L;
+            long target = (long) Math.ceil(all * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= target) return i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << (i + 1);
+            }
+            return max.get();
+        }
+
+        private void reset() {
+            count.reset();
+            total.reset();
+            max.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+    }
+
+    static final class Counter {
+
+        final String name;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        void add(long amount) {
+            if (enabled) value.add(amount);
+        }
+
+        long sum() {
+            return value.sum();
+        }
+
+        private void reset() {
+            value.reset();
+        }
+    }
+
+    static final class Ratio {
+
+        final String name;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Ratio(String name) {
+            this.name = name;
+        }
+
+        void hit() {
+            if (enabled) hits.increment();
+        }
+
+        void miss() {
+            if (enabled) misses.increment();
+        }
+
+        long hits() {
+            return hits.sum();
+        }
+
+        long misses() {
+            return misses.sum();
+        }
+
+        double ratio() {
+            long hits = hits();
+            long all = hits + misses();
+            return all == 0 ? 0.0 : (double) hits / all;
+        }
+
+        private void reset() {
+            hits.reset();
+            misses.reset();
+        }
+    }
+}
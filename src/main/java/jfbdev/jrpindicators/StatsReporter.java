@@ -0,0 +1,166 @@
+package jfbdev.jrpindicators;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+final class StatsReporter implements Runnable {
+
+    private final JRPIndicators plugin;
+    private TaskScheduler.Task task;
+    private boolean csv;
+    private Boolean toggled;
+    private Boolean configured;
+
+    StatsReporter(JRPIndicators plugin) {
+        this.plugin = plugin;
+    }
+
+    void start(StatsSettings settings) {
+        stop();
+        if (configured != null && configured != settings.enabled) toggled = null;
+        configured = settings.enabled;
+        Stats.enabled = toggled != null ? toggled : settings.enabled;
+        csv = settings.csv;
+        if (settings.dumpInterval > 0) {
+            long period = settings.dumpInterval * 20L;
+            task = plugin.getTaskScheduler().runAsyncTimer(this, period, period);
+        }
+    }
+
+    void toggle(boolean enabled) {
+        toggled = enabled;
+        Stats.enabled = enabled;
+    }
+
+    void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        if (!Stats.enabled) return;
+        Path folder = plugin.getDataFolder().toPath();
+        Path target = folder.resolve(csv ? "stats.csv" : "stats.json");
+        try {
+            Files.createDirectories(folder);
+            Path temp = folder.resolve(target.getFileName() + ".tmp");
+            Files.writeString(temp, csv ? csv() : json(), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Не удалось сохранить статистику в " + target, e);
+        }
+    }
+
+    List<String> lines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("&b[JRPI] &fСтатистика " + (Stats.enabled ? "&a(включена)" : "&c(выключена)")
+                + " &7за " + (System.currentTimeMillis() - Stats.since) / 1000 + " с");
+        for (Stats.Timer timer : Stats.TIMERS) {
+            if (timer.count() == 0) continue;
+            lines.add(String.format(Locale.ROOT, "&7%s: &f%d &7выз., ср. &f%.1f мкс&7, p99 &f≤%.1f мкс&7, макс &f%.1f мкс",
+                    timer.name, timer.count(), micros(timer.totalNanos()) / timer.count(),
+                    micros(timer.percentileNanos(0.99)), micros(timer.maxNanos())));
+        }
+        for (Stats.Counter counter : Stats.COUNTERS) {
+            lines.add("&7" + counter.name + ": &f" + counter.sum());
+        }
+        for (Stats.Ratio ratio : Stats.RATIOS) {
+            lines.add(String.format(Locale.ROOT, "&7%s: &f%.1f%% &7(%d / %d)",
+                    ratio.name, ratio.ratio() * 100, ratio.hits(), ratio.hits() + ratio.misses()));
+        }
+        StringBuilder calls = new StringBuilder("&7Плейсхолдеры:");
+        for (Map.Entry<String, Long> entry : placeholderCalls().entrySet()) {
+            calls.append(" &f").append(entry.getKey()).append("&7=").append(entry.getValue());
+        }
+        lines.add(calls.toString());
+        return lines;
+    }
+
+    String json() {
+        StringBuilder out = new StringBuilder(1024);
+        out.append("{\n  \"since\": ").append(Stats.since);
+        out.append(",\n  \"timestamp\": ").append(System.currentTimeMillis());
+        out.append(",\n  \"timers\": {");
+        String separator = "\n";
+        for (Stats.Timer timer : Stats.TIMERS) {
+            out.append(separator).append("    \"").append(timer.name).append("\": {\"count\": ").append(timer.count())
+                    .append(", \"total_ns\": ").append(timer.totalNanos())
+                    .append(", \"p50_ns\": ").append(timer.percentileNanos(0.5))
+                    .append(", \"p99_ns\": ").append(timer.percentileNanos(0.99))
+                    .append(", \"max_ns\": ").append(timer.maxNanos()).append('}');
+            separator = ",\n";
+        }
+        out.append("\n  },\n  \"counters\": {");
+        separator = "\n";
+        for (Stats.Counter counter : Stats.COUNTERS) {
+            out.append(separator).append("    \"").append(counter.name).append("\": ").append(counter.sum());
+            separator = ",\n";
+        }
+        out.append("\n  },\n  \"caches\": {");
+        separator = "\n";
+        for (Stats.Ratio ratio : Stats.RATIOS) {
+            out.append(separator).append("    \"").append(ratio.name).append("\": {\"hits\": ").append(ratio.hits())
+                    .append(", \"misses\": ").append(ratio.misses()).append('}');
+            separator = ",\n";
+        }
+        out.append("\n  },\n  \"placeholders\": {");
+        separator = "\n";
+        for (Map.Entry<String, Long> entry : placeholderCalls().entrySet()) {
+            out.append(separator).append("    \"").append(escape(entry.getKey())).append("\": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        out.append("\n  }\n}\n");
+        return out.toString();
+    }
+
+    String csv() {
+        StringBuilder out = new StringBuilder(1024);
+        out.append("type,name,count,total_ns,p50_ns,p99_ns,max_ns,hits,misses\n");
+        for (Stats.Timer timer : Stats.TIMERS) {
+            out.append("timer,").append(timer.name).append(',').append(timer.count()).append(',')
+                    .append(timer.totalNanos()).append(',').append(timer.percentileNanos(0.5)).append(',')
+                    .append(timer.percentileNanos(0.99)).append(',').append(timer.maxNanos()).append(",,\n");
+        }
+        for (Stats.Counter counter : Stats.COUNTERS) {
+            out.append("counter,").append(counter.name).append(',').append(counter.sum()).append(",,,,,,\n");
+        }
+        for (Stats.Ratio ratio : Stats.RATIOS) {
+            out.append("cache,").append(ratio.name).append(',').append(ratio.hits() + ratio.misses())
+                    .append(",,,,,").append(ratio.hits()).append(',').append(ratio.misses()).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : placeholderCalls().entrySet()) {
+            out.append("placeholder,\"").append(entry.getKey().replace("\"", "\"\"")).append("\",")
+                    .append(entry.getValue()).append(",,,,,,\n");
+        }
+        return out.toString();
+    }
+
+    private static Map<String, Long> placeholderCalls() {
+        Map<String, Long> calls = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : Stats.placeholderCalls().entrySet()) {
+            calls.put(entry.getKey(), entry.getValue().sum());
+        }
+        return calls;
+    }
+
+    private static double micros(long nanos) {
+        return nanos == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : nanos / 1000.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
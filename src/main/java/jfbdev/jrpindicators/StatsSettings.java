@@ -0,0 +1,16 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+final class StatsSettings {
+
+    final boolean enabled;
+    final int dumpInterval;
+    final boolean csv;
+
+    StatsSettings(ConfigurationSection config) {
+        enabled = config.getBoolean("stats.enabled", false);
+        dumpInterval = config.getInt("stats.dump-interval", 300);
+        csv = "csv".equalsIgnoreCase(config.getString("stats.dump-format", "json"));
+    }
+}
@@ -0,0 +1,68 @@
+package jfbdev.jrpindicators;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+final class SyncMessage {
+
+    static final byte EPOCH = 0;
+    static final byte REQUEST = 1;
+    static final byte SET_TIME = 2;
+
+    private static final byte VERSION = 2;
+    private static final int SIZE = 2 + 8 + 8 + 4 + 4 + 4;
+    private static final long MILLIS_PER_TICK = 50L;
+
+    final byte type;
+    final long epochTick;
+    final long anchorMillis;
+    final int daysPerMonth;
+    final int startYear;
+    final int fingerprint;
+
+    SyncMessage(byte type, long epochTick, long anchorMillis, int daysPerMonth, int startYear, int fingerprint) {
+        this.type = type;
+        this.epochTick = epochTick;
+        this.anchorMillis = anchorMillis;
+        this.daysPerMonth = daysPerMonth;
+        this.startYear = startYear;
+        this.fingerprint = fingerprint;
+    }
+
+    SyncMessage(byte type, long epochTick, long anchorMillis, CalendarConfig config) {
+        this(type, epochTick, anchorMillis, config.daysPerMonth, config.startYear, config.yearTable.fingerprint);
+    }
+
+    long fullTimeAt(long millis) {
+        return epochTick + Math.floorDiv(millis - anchorMillis, MILLIS_PER_TICK);
+    }
+
+    boolean sameCalendar(CalendarConfig config) {
+        return daysPerMonth == config.daysPerMonth && startYear == config.startYear
+                && fingerprint == config.yearTable.fingerprint;
+    }
+
+    boolean sameCalendar(@Nullable SyncMessage other) {
+        return other != null && daysPerMonth == other.daysPerMonth && startYear == other.startYear
+                && fingerprint == other.fingerprint;
+    }
+
+    byte[] encode() {
+        return ByteBuffer.allocate(SIZE)
+                .put(VERSION).put(type)
+                .putLong(epochTick).putLong(anchorMillis)
+                .putInt(daysPerMonth).putInt(startYear).putInt(fingerprint)
+                .array();
+    }
+
+    static @Nullable SyncMessage decode(byte[] data) {
+        if (data.length != SIZE) return null;
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.get() != VERSION) return null;
+        byte type = buffer.get();
+        if (type != EPOCH && type != REQUEST && type != SET_TIME) return null;
+        return new SyncMessage(type, buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getInt(),
+                buffer.getInt());
+    }
+}
@@ -0,0 +1,22 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Locale;
+
+final class SyncSettings {
+
+    final CalendarSync.Role role;
+    final String world;
+    final String transport;
+    final String channel;
+    final int interval;
+
+    SyncSettings(ConfigurationSection config) {
+        role = CalendarConfig.option(CalendarSync.Role.class, config.getString("sync.role", "none"), CalendarSync.Role.NONE);
+        world = config.getString("sync.world", "");
+        transport = config.getString("sync.transport", "bungeecord").trim().toLowerCase(Locale.ROOT);
+        channel = config.getString("sync.channel", "JRPICalendar");
+        interval = Math.max(0, config.getInt("sync.interval", 60));
+    }
+}
@@ -0,0 +1,12 @@
+package jfbdev.jrpindicators;
+
+import java.util.function.Consumer;
+
+interface SyncTransport {
+
+    void start(Consumer<byte[]> receiver);
+
+    void send(byte[] message);
+
+    void stop();
+}
@@ -0,0 +1,57 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+interface TaskScheduler {
+
+    static TaskScheduler create(Plugin plugin) {
+        return FoliaTaskScheduler.isSupported() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+
+    boolean isFolia();
+
+    boolean isGlobalThread();
+
+    boolean isOwnedByCurrentRegion(Entity entity);
+
+    boolean isOwnedByCurrentRegion(Location location);
+
+    void runGlobal(Runnable task);
+
+    Task runGlobalLater(Runnable task, long delay);
+
+    Task runGlobalTimer(Runnable task, long delay, long period);
+
+    void runAt(Location location, Runnable task);
+
+    void run(Entity entity, Runnable task);
+
+    Task runTimer(Entity entity, Runnable task, long delay, long period);
+
+    void runAsync(Runnable task);
+
+    Task runAsyncTimer(Runnable task, long delay, long period);
+
+    default void executeGlobal(Runnable task) {
+        if (isGlobalThread()) {
+            task.run();
+        } else {
+            runGlobal(task);
+        }
+    }
+
+    default void execute(Entity entity, Runnable task) {
+        if (isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            run(entity, task);
+        }
+    }
+
+    interface Task {
+
+        void cancel();
+    }
+}
@@ -0,0 +1,107 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class TemperatureCache implements Listener {
+
+    static final float UNKNOWN = Float.NaN;
+
+    private final Map<UUID, LongFloatMap> worlds = new ConcurrentHashMap<>();
+
+    float temperature(World world, int x, int y, int z) {
+        if (world.getEnvironment() != World.Environment.NORMAL) return UNKNOWN;
+
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        int section = section(world, y);
+        LongFloatMap sections = sections(world);
+        long key = sectionKey(chunkX, chunkZ, section);
+        float temperature;
+        synchronized (sections) {
+            temperature = sections.get(key, UNKNOWN);
+        }
+        if (!Float.isNaN(temperature)) {
+            Stats.TEMPERATURE_CACHE.hit();
+        } else if (world.isChunkLoaded(chunkX, chunkZ)) {
+            Stats.TEMPERATURE_CACHE.miss();
+            temperature = sample(world, chunkX, chunkZ, section);
+            synchronized (sections) {
+                sections.put(key, temperature);
+            }
+        }
+        return temperature;
+    }
+
+    float cached(World world, int x, int y, int z) {
+        if (world.getEnvironment() != World.Environment.NORMAL) return UNKNOWN;
+        LongFloatMap sections = sections(world);
+        synchronized (sections) {
+            return sections.get(sectionKey(x >> 4, z >> 4, section(world, y)), UNKNOWN);
+        }
+    }
+
+    private LongFloatMap sections(World world) {
+        return worlds.computeIfAbsent(world.getUID(), uid -> new LongFloatMap(4096));
+    }
+
+    private static int section(World world, int y) {
+        return Math.max(0, Math.min(world.getMaxHeight() - 1, y)) >> 4;
+    }
+
+    private static float sample(World world, int chunkX, int chunkZ, int section) {
+        return (float) world.getTemperature((chunkX << 4) + 8, (section << 4) + 8, (chunkZ << 4) + 8);
+    }
+
+    static long sectionKey(int chunkX, int chunkZ, int section) {
+        return ((long) chunkX & 0x3FFFFFL) << 42 | ((long) chunkZ & 0x3FFFFFL) << 20 | (section & 0xFFFFFL);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        World world = event.getWorld();
+        if (world.getEnvironment() != World.Environment.NORMAL) return;
+
+        Chunk chunk = event.getChunk();
+        LongFloatMap sections = sections(world);
+        int sectionCount = world.getMaxHeight() >> 4;
+        float[] samples = new float[sectionCount];
+        for (int section = 0; section < sectionCount; section++) {
+            samples[section] = sample(world, chunk.getX(), chunk.getZ(), section);
+        }
+        synchronized (sections) {
+            for (int section = 0; section < sectionCount; section++) {
+                sections.put(sectionKey(chunk.getX(), chunk.getZ(), section), samples[section]);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        LongFloatMap sections = worlds.get(event.getWorld().getUID());
+        if (sections == null) return;
+
+        Chunk chunk = event.getChunk();
+        int sectionCount = event.getWorld().getMaxHeight() >> 4;
+        synchronized (sections) {
+            for (int section = 0; section < sectionCount; section++) {
+                sections.remove(sectionKey(chunk.getX(), chunk.getZ(), section));
+            }
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getUID());
+    }
+}
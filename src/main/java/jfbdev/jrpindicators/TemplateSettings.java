@@ -0,0 +1,22 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+final class TemplateSettings {
+
+    final Map<String, String> patterns = new LinkedHashMap<>();
+
+    TemplateSettings(ConfigurationSection config) {
+        ConfigurationSection templates = config.getConfigurationSection("templates");
+        if (templates != null) {
+            for (String name : templates.getKeys(false)) {
+                String pattern = templates.getString(name);
+                if (pattern != null) patterns.put(name.toLowerCase(Locale.ROOT), pattern);
+            }
+        }
+    }
+}
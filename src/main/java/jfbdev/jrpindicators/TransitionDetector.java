@@ -0,0 +1,77 @@
+package jfbdev.jrpindicators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class TransitionDetector {
+
+    private final Random random = new Random();
+
+    List<String> detect(WorldCalendar calendar, WorldCalendarState state, int weather) {
+        List<String> messages = new ArrayList<>(2);
+        long start = Stats.start();
+        checkDayPhaseChange(calendar, state, messages);
+        Stats.CHECK_DAY_PHASE.record(start);
+        start = Stats.start();
+        checkWeatherChange(calendar, state, weather, messages);
+        Stats.CHECK_WEATHER.record(start);
+        start = Stats.start();
+        checkSeasonChange(calendar, state, messages);
+        Stats.CHECK_SEASON.record(start);
+        start = Stats.start();
+        checkZodiacChange(calendar, state, messages);
+        Stats.CHECK_ZODIAC.record(start);
+        start = Stats.start();
+        checkHolidayChange(calendar, state, messages);
+        Stats.CHECK_HOLIDAY.record(start);
+        return messages;
+    }
+
+    private void checkDayPhaseChange(WorldCalendar calendar, WorldCalendarState state, List<String> messages) {
+        if (!state.config.dayGreetingEnabled) return;
+        if (state.dayPhase != calendar.lastDayPhase) {
+            pickGreeting(state.config.dayGreetings[state.dayPhase], messages);
+            calendar.lastDayPhase = state.dayPhase;
+        }
+    }
+
+    private void checkWeatherChange(WorldCalendar calendar, WorldCalendarState state, int current, List<String> messages) {
+        if (!state.config.weatherGreetingEnabled) return;
+        if (current != calendar.lastWeather) {
+            pickGreeting(state.config.weatherGreetings[current], messages);
+            calendar.lastWeather = current;
+        }
+    }
+
+    private void checkSeasonChange(WorldCalendar calendar, WorldCalendarState state, List<String> messages) {
+        if (!state.config.seasonGreetingEnabled) return;
+        if (state.season != calendar.lastSeason && calendar.lastSeason != WorldCalendar.UNSEEN
+                && state.season != CalendarConfig.UNKNOWN_SEASON) {
+            pickGreeting(state.config.seasonGreetings[state.season], messages);
+        }
+        calendar.lastSeason = state.season;
+    }
+
+    private void checkZodiacChange(WorldCalendar calendar, WorldCalendarState state, List<String> messages) {
+        if (!state.config.zodiacGreetingEnabled) return;
+        if (state.zodiac != calendar.lastZodiac) {
+            pickGreeting(state.config.zodiacGreetings[state.zodiac], messages);
+            calendar.lastZodiac = state.zodiac;
+        }
+    }
+
+    private void checkHolidayChange(WorldCalendar calendar, WorldCalendarState state, List<String> messages) {
+        if (!state.config.holidayGreetingEnabled) return;
+        if (state.totalDays != calendar.lastHolidayDay && calendar.lastHolidayDay != WorldCalendar.UNSEEN) {
+            pickGreeting(state.config.holidayGreetings(state), messages);
+        }
+        calendar.lastHolidayDay = state.totalDays;
+    }
+
+    private void pickGreeting(String[] greetings, List<String> messages) {
+        if (greetings.length > 0) {
+            messages.add(greetings[random.nextInt(greetings.length)]);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package jfbdev.jrpindicators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+final class TransitionJournal {
+
+    static final int KIND_DAY_PHASE = 0;
+    static final int KIND_WEATHER = 1;
+    static final int KIND_SEASON = 2;
+    static final int KIND_ZODIAC = 3;
+    static final int KIND_HOLIDAY = 4;
+    static final int KINDS = 5;
+
+    private static final int MAGIC = 0x4A525049;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 16 + 1 + 8 + 8;
+    private static final long FLUSH_PERIOD = 100L;
+
+    private final JRPIndicators plugin;
+    private final Path file;
+    private final Object io = new Object();
+    private final Map<UUID, long[]> latest = new HashMap<>();
+    private ByteBuffer pending = ByteBuffer.allocate(RECORD_SIZE * 256);
+    private ByteBuffer spare = ByteBuffer.allocate(RECORD_SIZE * 256);
+    private boolean enabled;
+    private int compactAfter;
+    private FileChannel channel;
+    private TaskScheduler.Task flushTask;
+    private long records;
+
+    TransitionJournal(JRPIndicators plugin) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve("transitions.journal");
+    }
+
+    void update(JournalSettings settings) {
+        synchronized (io) {
+            synchronized (this) {
+                compactAfter = Math.max(64, settings.compactAfter);
+            }
+            if (settings.enabled && channel == null) {
+                open();
+            } else if (!settings.enabled && channel != null) {
+                close();
+            }
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(file.getParent());
+            synchronized (this) {
+                read();
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (channel.size() < HEADER_SIZE) {
+                channel.truncate(0L);
+                channel.write(header(), 0L);
+                records = 0L;
+            }
+            channel.position(HEADER_SIZE + records * RECORD_SIZE);
+            channel.truncate(channel.position());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Не удалось открыть журнал смен " + file, e);
+            closeChannel();
+            return;
+        }
+        synchronized (this) {
+            enabled = true;
+        }
+        flushTask = plugin.getTaskScheduler().runAsyncTimer(this::flush, FLUSH_PERIOD, FLUSH_PERIOD);
+    }
+
+    private void read() throws IOException {
+        latest.clear();
+        records = 0L;
+        if (!Files.exists(file)) return;
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            plugin.getLogger().warning("Журнал смен повреждён и будет создан заново");
+            return;
+        }
+        while (buffer.remaining() >= RECORD_SIZE) {
+            UUID world = new UUID(buffer.getLong(), buffer.getLong());
+            int kind = buffer.get();
+            long value = buffer.getLong();
+            buffer.getLong();
+            if (kind >= 0 && kind < KINDS) values(world)[kind] = value;
+            records++;
+        }
+    }
+
+    synchronized void restore(WorldCalendar calendar) {
+        long[] values = latest.get(calendar.world.getUID());
+        if (!enabled || values == null) return;
+        for (int kind = 0; kind < KINDS; kind++) {
+            if (values[kind] != WorldCalendar.UNSEEN) calendar.restore(kind, values[kind]);
+        }
+    }
+
+    synchronized void record(WorldCalendar calendar, long fullTime) {
+        if (!enabled) return;
+        UUID world = calendar.world.getUID();
+        long[] values = values(world);
+        for (int kind = 0; kind < KINDS; kind++) {
+            long value = calendar.value(kind);
+            if (value == WorldCalendar.UNSEEN || value == values[kind]) continue;
+            values[kind] = value;
+            if (pending.remaining() < RECORD_SIZE) grow();
+            pending.putLong(world.getMostSignificantBits()).putLong(world.getLeastSignificantBits())
+                    .put((byte) kind).putLong(value).putLong(fullTime);
+        }
+    }
+
+    private void grow() {
+        ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+        pending.flip();
+        pending = grown.put(pending);
+    }
+
+    void flush() {
+        synchronized (io) {
+            if (channel == null) return;
+            ByteBuffer batch;
+            ByteBuffer snapshot = null;
+            synchronized (this) {
+                batch = pending;
+                pending = spare;
+                spare = batch;
+                if (records + batch.position() / RECORD_SIZE > compactAfter) snapshot = snapshot();
+            }
+            try {
+                batch.flip();
+                records += batch.remaining() / RECORD_SIZE;
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                if (snapshot != null) compact(snapshot);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Не удалось записать журнал смен " + file, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private ByteBuffer snapshot() {
+        int count = 0;
+        for (long[] values : latest.values()) {
+            for (long value : values) {
+                if (value != WorldCalendar.UNSEEN) count++;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * RECORD_SIZE);
+        buffer.put(header());
+        for (Map.Entry<UUID, long[]> entry : latest.entrySet()) {
+            UUID world = entry.getKey();
+            long[] values = entry.getValue();
+            for (int kind = 0; kind < KINDS; kind++) {
+                if (values[kind] == WorldCalendar.UNSEEN) continue;
+                buffer.putLong(world.getMostSignificantBits()).putLong(world.getLeastSignificantBits())
+                        .put((byte) kind).putLong(values[kind]).putLong(-1L);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void compact(ByteBuffer buffer) throws IOException {
+        long count = (buffer.remaining() - HEADER_SIZE) / RECORD_SIZE;
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+        }
+        closeChannel();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        records = count;
+    }
+
+    void close() {
+        synchronized (io) {
+            synchronized (this) {
+                enabled = false;
+            }
+            flush();
+            if (flushTask != null) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+            closeChannel();
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+    }
+
+    private long[] values(UUID world) {
+        return latest.computeIfAbsent(world, uid -> {
+            long[] values = new long[KINDS];
+            Arrays.fill(values, WorldCalendar.UNSEEN);
+            return values;
+        });
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        return header;
+    }
+}
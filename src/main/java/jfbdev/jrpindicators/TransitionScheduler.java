@@ -0,0 +1,209 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.weather.ThunderChangeEvent;
+import org.bukkit.event.weather.WeatherChangeEvent;
+import org.bukkit.event.world.TimeSkipEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.*;
+
+final class TransitionScheduler implements Listener {
+
+    private static final long[] BOUNDARIES = {6000L, 12000L, 16000L, 22000L, 24000L};
+    private static final int WORLDS_PER_TICK = 2;
+
+    private final JRPIndicators plugin;
+    private final TaskScheduler scheduler;
+    private final boolean serverTicks;
+    private final Map<UUID, WorldCalendar> calendars = new HashMap<>();
+    private final PriorityQueue<WorldCalendar> queue = new PriorityQueue<>(Comparator.comparingLong(calendar -> calendar.dueTick));
+    private TaskScheduler.Task wakeUp;
+    private long wakeUpTick = Long.MAX_VALUE;
+    private TaskScheduler.Task tickCounter;
+    private long ticks;
+
+    TransitionScheduler(JRPIndicators plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
+        this.serverTicks = !scheduler.isFolia() && hasCurrentTick();
+    }
+
+    void start() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        if (!serverTicks) {
+            tickCounter = scheduler.runGlobalTimer(() -> ticks++, 1L, 1L);
+        }
+        trackWorlds();
+    }
+
+    void stop() {
+        cancelWakeUp();
+        if (tickCounter != null) {
+            tickCounter.cancel();
+            tickCounter = null;
+        }
+    }
+
+    void reload() {
+        calendars.clear();
+        queue.clear();
+        trackWorlds();
+    }
+
+    void replan(World world) {
+        WorldCalendar calendar = calendars.get(world.getUID());
+        if (calendar == null) return;
+        unqueue(calendar);
+        check(calendar, now());
+        plan();
+    }
+
+    private void trackWorlds() {
+        long now = now();
+        for (World world : Bukkit.getWorlds()) {
+            track(world, now);
+        }
+        plan();
+    }
+
+    private void track(World world, long now) {
+        if (!plugin.isCalendarWorld(world) || calendars.containsKey(world.getUID())) return;
+        WorldCalendar calendar = new WorldCalendar(world);
+        plugin.restoreTransitions(calendar);
+        calendars.put(world.getUID(), calendar);
+        enqueue(calendar, now);
+    }
+
+    void requestCheck(World world) {
+        WorldCalendar calendar = calendars.get(world.getUID());
+        if (calendar == null) return;
+        long now = now();
+        if (calendar.queued && calendar.dueTick <= now + 1) return;
+        unqueue(calendar);
+        enqueue(calendar, now + 1);
+        plan();
+    }
+
+    private void run() {
+        wakeUp = null;
+        wakeUpTick = Long.MAX_VALUE;
+        long now = now();
+        int budget = WORLDS_PER_TICK;
+        while (budget-- > 0 && !queue.isEmpty() && queue.peek().dueTick <= now) {
+            WorldCalendar calendar = queue.poll();
+            calendar.queued = false;
+            check(calendar, now);
+        }
+        plan();
+    }
+
+    private void check(WorldCalendar calendar, long now) {
+        plugin.checkAllChanges(calendar);
+        long fullTime = plugin.getFullTime(calendar.world);
+        enqueue(calendar, now + Math.max(1L, nextBoundary(fullTime) - fullTime));
+    }
+
+    private void plan() {
+        WorldCalendar next = queue.peek();
+        if (next == null) {
+            cancelWakeUp();
+            return;
+        }
+        long now = now();
+        long due = Math.max(now + 1, next.dueTick);
+        if (wakeUp != null && wakeUpTick <= due) return;
+
+        cancelWakeUp();
+        wakeUpTick = due;
+        wakeUp = scheduler.runGlobalLater(this::run, due - now);
+    }
+
+    private void enqueue(WorldCalendar calendar, long dueTick) {
+        calendar.dueTick = dueTick;
+        calendar.queued = true;
+        queue.add(calendar);
+    }
+
+    private void unqueue(WorldCalendar calendar) {
+        if (calendar.queued) {
+            queue.remove(calendar);
+            calendar.queued = false;
+        }
+    }
+
+    private void cancelWakeUp() {
+        if (wakeUp != null) {
+            wakeUp.cancel();
+            wakeUp = null;
+        }
+        wakeUpTick = Long.MAX_VALUE;
+    }
+
+    private long now() {
+        return serverTicks ? Bukkit.getCurrentTick() : ticks;
+    }
+
+    static long nextBoundary(long fullTime) {
+        long dayStart = Math.floorDiv(fullTime, 24000L) * 24000L;
+        long timeOfDay = fullTime - dayStart;
+        for (long boundary : BOUNDARIES) {
+            if (boundary > timeOfDay) return dayStart + boundary;
+        }
+        return dayStart + 24000L;
+    }
+
+    private static boolean hasCurrentTick() {
+        try {
+            Bukkit.class.getMethod("getCurrentTick");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWeatherChange(WeatherChangeEvent event) {
+        World world = event.getWorld();
+        scheduler.executeGlobal(() -> requestCheck(world));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onThunderChange(ThunderChangeEvent event) {
+        World world = event.getWorld();
+        scheduler.executeGlobal(() -> requestCheck(world));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTimeSkip(TimeSkipEvent event) {
+        World world = event.getWorld();
+        scheduler.executeGlobal(() -> requestCheck(world));
+    }
+
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        World world = event.getWorld();
+        scheduler.executeGlobal(() -> {
+            track(world, now());
+            plan();
+        });
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        World world = event.getWorld();
+        scheduler.executeGlobal(() -> {
+            WorldCalendar calendar = calendars.remove(world.getUID());
+            if (calendar != null) {
+                unqueue(calendar);
+                plan();
+            }
+        });
+        plugin.forgetWorld(world);
+    }
+}
@@ -0,0 +1,52 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.World;
+
+final class WorldCalendar {
+
+    static final int UNSEEN = -2;
+
+    final World world;
+    long dueTick;
+    boolean queued;
+
+    int lastDayPhase;
+    int lastWeather;
+    int lastSeason;
+    int lastZodiac;
+    long lastHolidayDay;
+
+    WorldCalendar(World world) {
+        this.world = world;
+        reset();
+    }
+
+    void reset() {
+        lastDayPhase = UNSEEN;
+        lastWeather = UNSEEN;
+        lastSeason = UNSEEN;
+        lastZodiac = UNSEEN;
+        lastHolidayDay = UNSEEN;
+    }
+
+    long value(int kind) {
+        return switch (kind) {
+            case TransitionJournal.KIND_DAY_PHASE -> lastDayPhase;
+            case TransitionJournal.KIND_WEATHER -> lastWeather;
+            case TransitionJournal.KIND_SEASON -> lastSeason;
+            case TransitionJournal.KIND_ZODIAC -> lastZodiac;
+            case TransitionJournal.KIND_HOLIDAY -> lastHolidayDay;
+            default -> UNSEEN;
+        };
+    }
+
+    void restore(int kind, long value) {
+        switch (kind) {
+            case TransitionJournal.KIND_DAY_PHASE -> lastDayPhase = (int) value;
+            case TransitionJournal.KIND_WEATHER -> lastWeather = (int) value;
+            case TransitionJournal.KIND_SEASON -> lastSeason = (int) value;
+            case TransitionJournal.KIND_ZODIAC -> lastZodiac = (int) value;
+            case TransitionJournal.KIND_HOLIDAY -> lastHolidayDay = value;
+        }
+    }
+}
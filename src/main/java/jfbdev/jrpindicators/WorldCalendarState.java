@@ -0,0 +1,106 @@
+package jfbdev.jrpindicators;
+
+import org.jetbrains.annotations.Nullable;
+
+final class WorldCalendarState {
+
+    final CalendarConfig source;
+    final CalendarConfig config;
+    final long fullTime;
+    final long totalDays;
+    final int dayOfCycle;
+    final int festival;
+    final int day;
+    final int month;
+    final int year;
+    final int weekday;
+    final int dayPhase;
+    final int season;
+    final int zodiac;
+    final int holiday;
+    final int minuteOfDay;
+    final String time;
+    final String yearText;
+
+    private WorldCalendarState(CalendarConfig source, CalendarConfig config, long fullTime,
+                               @Nullable WorldCalendarState previous) {
+        this.source = source;
+        this.config = config;
+        this.fullTime = fullTime;
+
+        long timeOfDay = Math.floorMod(fullTime, 24000L);
+        totalDays = Math.floorDiv(fullTime, 24000L);
+        YearTable table = config.yearTable;
+        dayOfCycle = table.dayOfCycle(totalDays);
+        festival = table.festival(dayOfCycle);
+        day = table.day(dayOfCycle);
+        month = table.month(dayOfCycle);
+        year = table.year(totalDays, dayOfCycle) + config.startYear;
+        weekday = table.weekday(totalDays, dayOfCycle);
+        dayPhase = CalendarConfig.dayPhase(timeOfDay);
+        season = table.season(dayOfCycle);
+        zodiac = config.zodiacSlot(year);
+        holiday = table.holiday(dayOfCycle);
+
+        long adjusted = (timeOfDay + 6000) % 24000;
+        minuteOfDay = (int) (adjusted / 1000) * 60 + (int) ((adjusted % 1000) * 60 / 1000);
+
+        boolean reusable = previous != null && previous.config == config;
+        time = reusable && previous.minuteOfDay == minuteOfDay
+                && (!config.timeFormat.usesDate || previous.totalDays == totalDays)
+                ? previous.time
+                : config.timeFormat.render(minuteOfDay / 60, minuteOfDay % 60, day, month, year);
+        yearText = reusable && previous.year == year ? previous.yearText : NumberText.of(year);
+    }
+
+    static WorldCalendarState compute(CalendarConfig source, CalendarConfig config, long fullTime,
+                                      @Nullable WorldCalendarState previous) {
+        return new WorldCalendarState(source, config, fullTime, previous);
+    }
+
+    boolean isCurrent(CalendarConfig source, long fullTime) {
+        return this.source == source && this.fullTime == fullTime;
+    }
+
+    String seasonName(int locale) {
+        return config.locales.get(locale, LocaleNames.season(season));
+    }
+
+    String monthName(int locale) {
+        return festival == YearTable.NONE
+                ? config.locales.get(locale, LocaleNames.MONTH + month)
+                : config.festivalNames[festival];
+    }
+
+    String format(CalendarFormat format) {
+        return format.render(minuteOfDay / 60, minuteOfDay % 60, day, month, year);
+    }
+
+    void appendTo(StringBuilder out, CalendarFormat format) {
+        format.appendTo(out, minuteOfDay / 60, minuteOfDay % 60, day, month, year);
+    }
+
+    String holidayName() {
+        return holiday == CalendarConfig.NO_HOLIDAY ? "" : config.holidayNames[holiday];
+    }
+
+    int daysUntilHoliday() {
+        return config.yearTable.daysUntilHoliday(dayOfCycle);
+    }
+
+    String nextHolidayName() {
+        int days = daysUntilHoliday();
+        if (days == YearTable.NONE) return "";
+        return config.holidayNames[config.yearTable.holiday(config.yearTable.dayAfter(dayOfCycle, days))];
+    }
+
+    int daysUntilSeasonChange() {
+        return config.yearTable.daysUntilSeasonChange(dayOfCycle);
+    }
+
+    String nextSeasonName(int locale) {
+        int days = daysUntilSeasonChange();
+        if (days == YearTable.NONE) return "";
+        return config.locales.get(locale, LocaleNames.season(config.yearTable.season(config.yearTable.dayAfter(dayOfCycle, days))));
+    }
+}
@@ -0,0 +1,243 @@
+package jfbdev.jrpindicators;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+final class YearTable {
+
+    static final int NONE = -1;
+    static final int MAX_CYCLE_YEARS = 400;
+    static final int MAX_MONTH_LENGTH = 1000;
+    static final int MAX_CYCLE_DAYS = 1 << 18;
+
+    private static final int SEASON_MASK = 0xFF;
+    private static final int HOLIDAY_SHIFT = 8;
+    private static final int HOLIDAY_MASK = 0xFFFF;
+    private static final int GREETING_BIT = 1 << 24;
+    private static final int WEEKDAY_SHIFT = 25;
+    private static final int WEEKDAY_MASK = 0x7;
+    private static final int NO_WEEKDAY_BIT = 1 << 28;
+
+    private static final int DAY_MASK = 0xFFFF;
+    private static final int MONTH_SHIFT = 16;
+    private static final int MONTH_MASK = 0xF;
+    private static final int YEAR_SHIFT = 20;
+
+    private static final int COMMON = 0;
+    private static final int LEAP = 1;
+
+    static final class Festival {
+
+        final int after;
+        final boolean leapOnly;
+        final boolean weekday;
+
+        Festival(int after, boolean leapOnly, boolean weekday) {
+            this.after = after;
+            this.leapOnly = leapOnly;
+            this.weekday = weekday;
+        }
+    }
+
+    final int cycleYears;
+    final int length;
+    final int dateStride;
+    final int fingerprint;
+    private final int[] monthLengths;
+    private final boolean[] leapYears;
+    private final int[] yearStart;
+    private final int[][] monthStart = new int[2][13];
+    private final int[][] monthLength = new int[2][13];
+    private final int[][] festivalStart;
+    private final int weekShift;
+    private final int[] days;
+    private final int[] dates;
+    private final int[] untilHoliday;
+    private final int[] untilSeasonChange;
+
+    YearTable(int[] monthLengths, int leapMonth, int leapDays, boolean[] leapYears, Festival[] festivals,
+              int[] seasonByMonth, int[] holidayBySlot, boolean[] greetingBySlot) {
+        this.cycleYears = leapYears.length;
+        this.monthLengths = monthLengths;
+        this.leapYears = leapYears;
+        this.dateStride = dateStride(monthLengths, leapMonth, leapDays);
+        this.fingerprint = fingerprint(monthLengths, leapMonth, leapDays, leapYears, festivals);
+
+        festivalStart = new int[2][festivals.length];
+        int[] yearLength = new int[2];
+        for (int layout = COMMON; layout <= LEAP; layout++) {
+            int offset = 0;
+            for (int position = 0; position <= 12; position++) {
+                for (int festival = 0; festival < festivals.length; festival++) {
+                    if (festivals[festival].after != position) continue;
+                    festivalStart[layout][festival] = layout == LEAP || !festivals[festival].leapOnly ? offset++ : NONE;
+                }
+                if (position == 12) break;
+                int month = position + 1;
+                monthStart[layout][month] = offset;
+                monthLength[layout][month] = monthLengths[month] + (layout == LEAP && month == leapMonth ? leapDays : 0);
+                offset += monthLength[layout][month];
+            }
+            yearLength[layout] = offset;
+        }
+
+        yearStart = new int[cycleYears + 1];
+        for (int year = 0; year < cycleYears; year++) {
+            yearStart[year + 1] = yearStart[year] + yearLength[leapYears[year] ? LEAP : COMMON];
+        }
+        this.length = yearStart[cycleYears];
+        this.days = new int[length];
+        this.dates = new int[length];
+
+        int counted = 0;
+        for (int year = 0; year < cycleYears; year++) {
+            int layout = leapYears[year] ? LEAP : COMMON;
+            int start = yearStart[year];
+            for (int festival = 0; festival < festivals.length; festival++) {
+                int offset = festivalStart[layout][festival];
+                if (offset == NONE) continue;
+                int after = festivals[festival].after;
+                int slot = 12 * dateStride + festival;
+                days[start + offset] = entry(seasonByMonth[Math.max(1, after)], holidayBySlot[slot], greetingBySlot[slot]);
+                dates[start + offset] = year << YEAR_SHIFT | festival;
+            }
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 0; day < monthLength[layout][month]; day++) {
+                    int slot = (month - 1) * dateStride + day;
+                    days[start + monthStart[layout][month] + day] = entry(seasonByMonth[month], holidayBySlot[slot], greetingBySlot[slot]);
+                    dates[start + monthStart[layout][month] + day] = year << YEAR_SHIFT | month << MONTH_SHIFT | (day + 1);
+                }
+            }
+            for (int dayOfYear = 0; dayOfYear < yearLength[layout]; dayOfYear++) {
+                int date = dates[start + dayOfYear];
+                boolean festival = (date >>> MONTH_SHIFT & MONTH_MASK) == 0;
+                if (festival && !festivals[date & DAY_MASK].weekday) {
+                    days[start + dayOfYear] |= NO_WEEKDAY_BIT;
+                } else {
+                    days[start + dayOfYear] |= (counted % 7) << WEEKDAY_SHIFT;
+                    counted++;
+                }
+            }
+        }
+        weekShift = counted % 7;
+
+        untilHoliday = distances(dayOfCycle -> holiday(dayOfCycle) != CalendarConfig.NO_HOLIDAY);
+        untilSeasonChange = distances(dayOfCycle -> season(dayOfCycle) != season(Math.floorMod(dayOfCycle - 1, length)));
+    }
+
+    static int dateStride(int[] monthLengths, int leapMonth, int leapDays) {
+        int stride = 1;
+        for (int month = 1; month <= 12; month++) {
+            stride = Math.max(stride, monthLengths[month] + (month == leapMonth ? leapDays : 0));
+        }
+        return stride;
+    }
+
+    private static int fingerprint(int[] monthLengths, int leapMonth, int leapDays, boolean[] leapYears,
+                                   Festival[] festivals) {
+        int hash = Arrays.hashCode(monthLengths);
+        hash = 31 * hash + leapMonth;
+        hash = 31 * hash + leapDays;
+        hash = 31 * hash + Arrays.hashCode(leapYears);
+        for (Festival festival : festivals) {
+            hash = 31 * hash + (festival.after << 2 | (festival.leapOnly ? 2 : 0) | (festival.weekday ? 1 : 0));
+        }
+        return hash;
+    }
+
+    private static int entry(int season, int holiday, boolean greeting) {
+        int entry = (season + 1) & SEASON_MASK;
+        entry |= ((holiday + 1) & HOLIDAY_MASK) << HOLIDAY_SHIFT;
+        if (greeting) entry |= GREETING_BIT;
+        return entry;
+    }
+
+    private int[] distances(IntPredicate marked) {
+        int[] distances = new int[length];
+        int next = NONE;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int dayOfCycle = length - 1; dayOfCycle >= 0; dayOfCycle--) {
+                distances[dayOfCycle] = next == NONE ? NONE : Math.floorMod(next - dayOfCycle - 1, length) + 1;
+                if (marked.test(dayOfCycle)) next = dayOfCycle;
+            }
+        }
+        return distances;
+    }
+
+    boolean hasLayout(int[] monthLengths, boolean[] leapYears) {
+        return Arrays.equals(this.monthLengths, monthLengths) && Arrays.equals(this.leapYears, leapYears);
+    }
+
+    int dayOfCycle(long totalDays) {
+        return Math.floorMod(totalDays, length);
+    }
+
+    int year(long totalDays, int dayOfCycle) {
+        return (int) Math.floorDiv(totalDays, length) * cycleYears + (dates[dayOfCycle] >>> YEAR_SHIFT);
+    }
+
+    int month(int dayOfCycle) {
+        return dates[dayOfCycle] >>> MONTH_SHIFT & MONTH_MASK;
+    }
+
+    int day(int dayOfCycle) {
+        return month(dayOfCycle) == 0 ? 0 : dates[dayOfCycle] & DAY_MASK;
+    }
+
+    int festival(int dayOfCycle) {
+        return month(dayOfCycle) == 0 ? dates[dayOfCycle] & DAY_MASK : NONE;
+    }
+
+    int season(int dayOfCycle) {
+        return (days[dayOfCycle] & SEASON_MASK) - 1;
+    }
+
+    int holiday(int dayOfCycle) {
+        return ((days[dayOfCycle] >>> HOLIDAY_SHIFT) & HOLIDAY_MASK) - 1;
+    }
+
+    boolean hasGreeting(int dayOfCycle) {
+        return (days[dayOfCycle] & GREETING_BIT) != 0;
+    }
+
+    int weekday(long totalDays, int dayOfCycle) {
+        int entry = days[dayOfCycle];
+        if ((entry & NO_WEEKDAY_BIT) != 0) return 0;
+        long cycles = Math.floorDiv(totalDays, length);
+        return (int) ((Math.floorMod(cycles, 7L) * weekShift + (entry >>> WEEKDAY_SHIFT & WEEKDAY_MASK) + 6) % 7) + 1;
+    }
+
+    int daysUntilHoliday(int dayOfCycle) {
+        return untilHoliday[dayOfCycle];
+    }
+
+    int daysUntilSeasonChange(int dayOfCycle) {
+        return untilSeasonChange[dayOfCycle];
+    }
+
+    int dayAfter(int dayOfCycle, int days) {
+        return Math.floorMod(dayOfCycle + days, length);
+    }
+
+    int monthLength(int year, int month) {
+        return monthLength[layout(year)][month];
+    }
+
+    long totalDays(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > monthLength(year, month)) return NONE;
+        return yearStart(year) + monthStart[layout(year)][month] + day - 1;
+    }
+
+    long festivalDay(int year, int festival) {
+        int offset = festivalStart[layout(year)][festival];
+        return offset == NONE ? NONE : yearStart(year) + offset;
+    }
+
+    private int layout(int year) {
+        return leapYears[Math.floorMod(year, cycleYears)] ? LEAP : COMMON;
+    }
+
+    private long yearStart(int year) {
+        return Math.floorDiv(year, cycleYears) * (long) length + yearStart[Math.floorMod(year, cycleYears)];
+    }
+}
@@ -0,0 +1,292 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.world.TimeSkipEvent;
+import org.bukkit.plugin.PluginManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CalendarSyncTest {
+
+    private static final long AUTHORITY_TIME = 123L * 24000L + 7000L;
+
+    private final List<SyncMessage> published = new ArrayList<>();
+    private final LoopbackTransport observer = new LoopbackTransport();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void installServer() {
+        if (Bukkit.getServer() != null) return;
+        Server server = mock(Server.class);
+        when(server.getLogger()).thenReturn(quietLogger());
+        when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+        Bukkit.setServer(server);
+    }
+
+    @BeforeEach
+    void observe() {
+        observer.start(data -> {
+            SyncMessage message = SyncMessage.decode(data);
+            if (message != null && message.type == SyncMessage.EPOCH) published.add(message);
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        nodes.forEach(node -> node.sync.stop());
+        observer.stop();
+    }
+
+    @Test
+    void followerAdoptsTheAuthorityEpochAndStartYear() {
+        Node authority = node("authority", TestFixtures.yaml());
+        YamlConfiguration followerYaml = TestFixtures.yaml();
+        followerYaml.set("calendar.start_year", 980);
+        Node follower = node("follower", followerYaml);
+
+        SyncMessage epoch = follower.sync.epochFor(follower.world);
+        assertNotNull(epoch, "ведомый не принял эпоху ведущего");
+        assertEquals(AUTHORITY_TIME, epoch.epochTick);
+        assertEquals(1200, follower.calendar().startYear);
+        assertEquals(authority.calendar().yearTable.fingerprint, follower.calendar().yearTable.fingerprint);
+        verify(follower.plugin).resync();
+        assertEquals(0, follower.warnings);
+    }
+
+    @Test
+    void followerRemembersAMismatchedLayoutUntilReload() {
+        Node authority = node("authority", TestFixtures.yaml());
+        YamlConfiguration followerYaml = otherLayout();
+        Node follower = node("follower", followerYaml);
+
+        assertNull(follower.sync.epochFor(follower.world), "ведомый принял чужую раскладку календаря");
+        assertEquals(1, follower.warnings);
+        verify(follower.plugin, times(1)).resync();
+
+        authority.reload(TestFixtures.yaml());
+        assertNull(follower.sync.epochFor(follower.world));
+        assertEquals(1, follower.warnings, "отвергнутая эпоха повторно перечитала календарь");
+        verify(follower.plugin, times(1)).resync();
+
+        follower.reload(otherLayout());
+        assertEquals(2, follower.warnings, "после перезагрузки ведомый не запросил эпоху заново");
+
+        follower.reload(TestFixtures.yaml());
+        SyncMessage epoch = follower.sync.epochFor(follower.world);
+        assertNotNull(epoch, "исправленный config.yml не вернул синхронизацию");
+        assertEquals(AUTHORITY_TIME, epoch.epochTick);
+        assertEquals(2, follower.warnings);
+    }
+
+    @Test
+    void setTimeFromFollowerMovesTheAuthorityWorldAndPublishesOnce() {
+        Node authority = node("authority", TestFixtures.yaml());
+        Node follower = node("follower", TestFixtures.yaml());
+        long target = AUTHORITY_TIME + 6000L;
+        published.clear();
+
+        follower.sync.forwardTime(follower.world, target);
+
+        verify(authority.world).setFullTime(target);
+        assertEquals(target, authority.time.get());
+        assertEquals(1, published.size(), "/jrpi set на ведомом должен дать ровно одну публикацию эпохи");
+        assertEquals(target, published.get(0).epochTick);
+        assertEquals(target, follower.sync.epochFor(follower.world).epochTick);
+        verify(follower.world, never()).setFullTime(anyLong());
+    }
+
+    @Test
+    void timeSkipOnTheAuthorityPublishesOnce() {
+        Node authority = node("authority", TestFixtures.yaml());
+        published.clear();
+
+        authority.world.setFullTime(AUTHORITY_TIME + 12000L);
+
+        assertEquals(1, published.size());
+        assertEquals(AUTHORITY_TIME + 12000L, published.get(0).epochTick);
+    }
+
+    private Node node(String role, YamlConfiguration yaml) {
+        Node node = new Node(role);
+        nodes.add(node);
+        node.reload(yaml);
+        return node;
+    }
+
+    private static YamlConfiguration otherLayout() {
+        YamlConfiguration yaml = TestFixtures.yaml();
+        yaml.set("calendar.month_lengths.2", yaml.getInt("calendar.months_days_count") + 1);
+        return yaml;
+    }
+
+    private static Logger quietLogger() {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        return logger;
+    }
+
+    private static final class Node {
+
+        final JRPIndicators plugin = mock(JRPIndicators.class);
+        final World world = mock(World.class);
+        final AtomicLong time = new AtomicLong(AUTHORITY_TIME);
+        final CalendarSync sync = new CalendarSync(plugin);
+        final String role;
+        LoadedConfig loaded;
+        int warnings;
+
+        Node(String role) {
+            this.role = role;
+            UUID uid = UUID.randomUUID();
+            when(world.getName()).thenReturn("world");
+            when(world.getUID()).thenReturn(uid);
+            when(world.getFullTime()).thenAnswer(invocation -> time.get());
+            doAnswer(invocation -> {
+                long fullTime = invocation.getArgument(0);
+                long skipped = fullTime - time.getAndSet(fullTime);
+                sync.onTimeSkip(new TimeSkipEvent(world, TimeSkipEvent.SkipReason.CUSTOM, skipped));
+                return null;
+            }).when(world).setFullTime(anyLong());
+
+            Logger logger = quietLogger();
+            logger.addHandler(new Handler() {
+                @Override
+                public void publish(LogRecord record) {
+                    if (record.getLevel() == Level.WARNING) warnings++;
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+
+            when(plugin.getLogger()).thenReturn(logger);
+            when(plugin.getTaskScheduler()).thenReturn(new DirectScheduler());
+            when(plugin.getMainWorld()).thenReturn(world);
+            when(plugin.getLoadedConfig()).thenAnswer(invocation -> loaded);
+            when(plugin.getCalendar(any(World.class))).thenAnswer(invocation ->
+                    loaded.calendar.forWorld(invocation.getArgument(0)));
+            doAnswer(invocation -> {
+                apply(loaded.withCalendar(sync.loadCalendar(loaded.file, loaded.languages, loaded.sync)));
+                return null;
+            }).when(plugin).resync();
+        }
+
+        void reload(YamlConfiguration yaml) {
+            yaml.set("sync.role", role);
+            yaml.set("sync.transport", "loopback");
+            yaml.set("sync.interval", 0);
+            SyncSettings settings = new SyncSettings(yaml);
+            apply(new LoadedConfig(yaml, Map.of(), sync.loadCalendar(yaml, Map.of(), settings), Map.of(),
+                    null, null, null, null, settings));
+        }
+
+        CalendarConfig calendar() {
+            return loaded.calendar.forWorld(world);
+        }
+
+        private void apply(LoadedConfig loaded) {
+            this.loaded = loaded;
+            sync.update(loaded.sync);
+        }
+    }
+
+    private static final class DirectScheduler implements TaskScheduler {
+
+        private static final Task NOTHING = () -> {
+        };
+
+        @Override
+        public boolean isFolia() {
+            return false;
+        }
+
+        @Override
+        public boolean isGlobalThread() {
+            return true;
+        }
+
+        @Override
+        public boolean isOwnedByCurrentRegion(Entity entity) {
+            return true;
+        }
+
+        @Override
+        public boolean isOwnedByCurrentRegion(Location location) {
+            return true;
+        }
+
+        @Override
+        public void runGlobal(Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public Task runGlobalLater(Runnable task, long delay) {
+            return NOTHING;
+        }
+
+        @Override
+        public Task runGlobalTimer(Runnable task, long delay, long period) {
+            return NOTHING;
+        }
+
+        @Override
+        public void runAt(Location location, Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public void run(Entity entity, Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public Task runTimer(Entity entity, Runnable task, long delay, long period) {
+            return NOTHING;
+        }
+
+        @Override
+        public void runAsync(Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public Task runAsyncTimer(Runnable task, long delay, long period) {
+            return NOTHING;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlaceholderAllocationTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final double MAX_BYTES_PER_CALL = 0.5;
+    private static final int CACHE_FLOOD = 2_000;
+
+    private Map<String, LineTemplate> templates = Map.of();
+    private final PlaceholderTable table = new PlaceholderTable(() -> templates);
+    private PlayerSnapshot player;
+    private WorldCalendarState state;
+
+    @BeforeEach
+    void setUp() {
+        CalendarConfig config = TestFixtures.config();
+        templates = table.compileTemplates(new TemplateSettings(TestFixtures.yaml()).patterns);
+        World world = TestFixtures.world("world");
+        player = PlayerSnapshot.of(config, world.getUID(), CalendarConfig.WEATHER_RAIN, 3, LocaleNames.DEFAULT_LOCALE);
+        state = WorldCalendarState.compute(config, config, 123L * 24000L + 7000L, null);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"day", "day_type", "time", "weather", "month", "month_name", "weekday", "weekday_name",
+            "season", "direction", "direction_short", "year", "zodiac", "holiday_name", "next_holiday",
+            "days_to_holiday", "next_season", "days_to_season", "date_{dd}.{MM}.{yyyy}", "line_scoreboard"})
+    void resolvingDoesNotAllocate(String key) {
+        for (int call = 0; call < WARMUP_CALLS; call++) {
+            resolve(key);
+        }
+
+        long before = allocatedBytes();
+        for (int call = 0; call < MEASURED_CALLS; call++) {
+            resolve(key);
+        }
+        double perCall = (double) (allocatedBytes() - before) / MEASURED_CALLS;
+
+        assertTrue(perCall <= MAX_BYTES_PER_CALL, key + " выделяет " + perCall + " B на вызов");
+    }
+
+    @Test
+    void hotParamsStayCachedPastTheLimit() {
+        for (int cold = 0; cold < CACHE_FLOOD; cold++) {
+            resolve("date_" + cold + "-{dd}");
+        }
+        String hot = "date_{dd}.{MM}";
+        PlaceholderResolver resolver = table.find(hot);
+        assertNotNull(resolver);
+
+        for (int cold = CACHE_FLOOD; cold < 2 * CACHE_FLOOD; cold++) {
+            assertEquals(cold + "-12", resolve("date_" + cold + "-{dd}"));
+            assertSame(resolver, table.find(hot));
+        }
+    }
+
+    private String resolve(String key) {
+        return table.find(key).resolve(player, state);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,49 @@
+package jfbdev.jrpindicators;
+
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.UUID;
+
+final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    static YamlConfiguration yaml() {
+        try (InputStream in = Objects.requireNonNull(TestFixtures.class.getResourceAsStream("/config.yml"));
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static CalendarConfig config() {
+        return CalendarConfig.load(yaml());
+    }
+
+    static World world(String name) {
+        UUID uid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName", "toString" -> name;
+                    case "getUID" -> uid;
+                    case "hasStorm", "isThundering" -> false;
+                    case "getEnvironment" -> World.Environment.NORMAL;
+                    case "getPlayers" -> Collections.emptyList();
+                    case "hashCode" -> uid.hashCode();
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}